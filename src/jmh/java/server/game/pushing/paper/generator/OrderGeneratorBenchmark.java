@@ -0,0 +1,32 @@
+package server.game.pushing.paper.generator;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderGeneratorBenchmark {
+    @Param({"6", "30", "100"})
+    public int size;
+
+    private Random random;
+    private OrderGenerator orderGenerator;
+
+    @Setup
+    public void setUp() {
+        random = new Random(0);
+        orderGenerator = new OrderGenerator();
+    }
+
+    @Benchmark
+    public List<String> generateOrder() {
+        return orderGenerator.generateOrder(random, size);
+    }
+}
@@ -0,0 +1,68 @@
+package server.game.pushing.paper.generator;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
+import server.game.pushing.paper.store.handler.ChainOfResponsibility;
+import server.game.pushing.paper.store.handler.Handler;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OrderSearchBenchmark {
+    @Param({"10", "30", "100"})
+    public int size;
+
+    private Random random;
+    private OrderGenerator orderGenerator;
+    private EnumSet<OrderTarget> targets;
+
+    @Setup
+    public void setUp() {
+        random = new Random(0);
+        orderGenerator = new OrderGenerator();
+        targets = EnumSet.allOf(OrderTarget.class);
+    }
+
+    @Benchmark
+    public List<String> searchOrder() {
+        return orderGenerator.generateOrder(random, size, targets);
+    }
+
+    @Benchmark
+    public List<String> regenerateOrder() {
+        List<String> order = orderGenerator.generateOrder(random, size);
+        while (!isMet(order)) {
+            order = orderGenerator.generateOrder(random, size);
+        }
+
+        return order;
+    }
+
+    private boolean isMet(List<String> order) {
+        Bank bank = new HeapBank();
+        Handler processors = (new ChainOfResponsibility(bank)).getProcessorDispatcher();
+        EnumSet<OrderTarget> metTargets = EnumSet.noneOf(OrderTarget.class);
+        for (String line : order) {
+            Transaction transaction = Transaction.parse(line);
+            for (OrderTarget target : targets) {
+                if (target.isMetBy(bank, transaction)) {
+                    metTargets.add(target);
+                }
+            }
+
+            processors.handleTransaction(transaction);
+        }
+
+        return metTargets.equals(targets);
+    }
+}
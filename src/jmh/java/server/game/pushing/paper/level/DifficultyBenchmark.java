@@ -0,0 +1,29 @@
+package server.game.pushing.paper.level;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DifficultyBenchmark {
+    @Param({"6", "100", "300", "1000"})
+    public int orderSize;
+
+    private Difficulty difficulty;
+
+    @Setup
+    public void setUp() {
+        int mutatedLines = Difficulty.getMaxMutatedLines(orderSize);
+        difficulty = new Difficulty(orderSize, mutatedLines / 3, mutatedLines / 3);
+    }
+
+    @Benchmark
+    public Level newLevel() {
+        return new Level(difficulty);
+    }
+}
@@ -0,0 +1,34 @@
+package server.game.pushing.paper.level;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LevelBenchmark {
+    private ObjectMapper objectMapper;
+    private Level level;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        level = new Level(0);
+    }
+
+    @Benchmark
+    public Level newLevel() {
+        return new Level();
+    }
+
+    @Benchmark
+    public byte[] serializeLevel() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(level);
+    }
+}
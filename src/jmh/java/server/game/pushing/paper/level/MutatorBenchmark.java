@@ -0,0 +1,93 @@
+package server.game.pushing.paper.level;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.generator.GenerationBudget;
+import server.game.pushing.paper.generator.OrderGenerator;
+import server.game.pushing.paper.store.Store;
+import server.game.pushing.paper.store.bank.Money;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Integer.parseInt;
+import static java.lang.String.join;
+import static java.lang.String.valueOf;
+import static server.game.pushing.paper.level.Mutation.Typo;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MutatorBenchmark {
+    @Param({"2", "100", "1000"})
+    public int typos;
+
+    private Random random;
+    private List<String> receipt;
+    private List<String> transformation;
+
+    @Setup
+    public void setUp() {
+        random = new Random(0);
+        List<String> order = (new OrderGenerator(GenerationBudget.getDefaultMaxAttempts(), Duration.ofMinutes(1))).generateOrder(random, 10000);
+        receipt = (new Store() {{ setOrder(order); }}).getReceipt();
+        transformation = new ArrayList<>();
+        for (int i = 0; i < receipt.size(); i++) {
+            transformation.add(valueOf(i));
+        }
+    }
+
+    @Benchmark
+    public List<String> mutate() {
+        List<String> receipt = new ArrayList<>(this.receipt);
+        (new Mutator(random, receipt, new ArrayList<>(transformation))).mutate(typos, typos / 2);
+        return receipt;
+    }
+
+    @Benchmark
+    public List<String> mutateByRejection() {
+        List<String> receipt = new ArrayList<>(this.receipt);
+        List<String> transformation = new ArrayList<>(this.transformation);
+        List<Integer> locations = new ArrayList<>();
+        while (locations.size() < typos) {
+            int location = random.nextInt(receipt.size());
+            if (!receipt.get(location).equals("") && !locations.contains(location)) {
+                locations.add(location);
+            }
+        }
+        for (int location : locations) {
+            placeTypo(receipt, transformation, location);
+        }
+
+        return receipt;
+    }
+
+    private void placeTypo(List<String> receipt, List<String> transformation, int location) {
+        List<String> transactionArguments = new ArrayList<>(Arrays.asList(receipt.get(location).split(" ")));
+        int microLocation = random.nextInt(transactionArguments.size());
+        String transactionArgument = transactionArguments.get(microLocation);
+
+        String microMutation;
+        if (transactionArgument.matches("[a-zA-Z]*")) {
+            StringBuilder stringBuilder = new StringBuilder(transactionArgument);
+            stringBuilder.deleteCharAt(random.nextInt(stringBuilder.length()));
+            microMutation = stringBuilder.toString();
+        } else if (transactionArgument.matches("[0-9]{8}")) {
+            microMutation = String.format("0000000%s", parseInt(transactionArgument) + 1);
+            microMutation = microMutation.substring(microMutation.length() - 8);
+        } else {
+            microMutation = Money.format(Money.parse(transactionArgument) + dollars(100));
+        }
+
+        transactionArguments.set(microLocation, microMutation);
+        receipt.set(location, join(" ", transactionArguments));
+        transformation.set(location, Typo.name().toLowerCase());
+    }
+}
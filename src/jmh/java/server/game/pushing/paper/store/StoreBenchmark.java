@@ -0,0 +1,40 @@
+package server.game.pushing.paper.store;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.generator.OrderGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StoreBenchmark {
+    @Param({"6", "30", "100"})
+    public int size;
+
+    private List<List<String>> orders;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        orders = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            orders.add(new OrderGenerator().generateOrder(random, size));
+        }
+    }
+
+    @Benchmark
+    public List<String> getReceipt() {
+        Store store = new Store();
+        store.setOrder(orders.get(index++ & 63));
+
+        return store.getReceipt();
+    }
+}
@@ -0,0 +1,91 @@
+package server.game.pushing.paper.store.bank;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BankBenchmark {
+    @Param({"HeapBank", "ArrayBank", "BufferBank"})
+    public String engine;
+
+    @Param({"100000"})
+    public int accounts;
+
+    private Bank bank;
+    private int[] ids;
+    private int index;
+
+    private Bank newBank() {
+        if (engine.equals("ArrayBank")) {
+            return new ArrayBank();
+        } else if (engine.equals("BufferBank")) {
+            return new BufferBank();
+        }
+
+        return new HeapBank();
+    }
+
+    private Bank createAccounts(Bank bank) {
+        for (int id = 0; id < accounts; id++) {
+            if (id % 3 == 0) {
+                bank.createCheckingAccount(id);
+            } else if (id % 3 == 1) {
+                bank.createSavingsAccount(id);
+            } else {
+                bank.createCDAccount(id, dollars(1000 + id % 9000));
+            }
+        }
+
+        return bank;
+    }
+
+    @Setup
+    public void setUp() {
+        bank = createAccounts(newBank());
+        Random random = new Random(0);
+        ids = new int[1024];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = random.nextInt(accounts);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Bank createAccounts() {
+        return createAccounts(newBank());
+    }
+
+    @Benchmark
+    public boolean transfer() {
+        int payingID = ids[index++ & 1023];
+        int receivingID = ids[index++ & 1023];
+        boolean isTransferAmountValid = bank.isTransferAmountValid(payingID, receivingID, dollars(100));
+        bank.deposit(payingID, dollars(100));
+        bank.transfer(payingID, receivingID, dollars(100));
+
+        return isTransferAmountValid;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Bank timeTravel() {
+        bank.timeTravel(1);
+
+        return bank;
+    }
+}
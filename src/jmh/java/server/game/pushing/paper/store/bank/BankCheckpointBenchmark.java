@@ -0,0 +1,107 @@
+package server.game.pushing.paper.store.bank;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.generator.OrderGenerator;
+import server.game.pushing.paper.store.Receipt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BankCheckpointBenchmark {
+    @Param({"100", "1000"})
+    public int orderSize;
+
+    @Param({"4"})
+    public int depth;
+
+    @Param({"4"})
+    public int branches;
+
+    private List<String> order;
+    private CheckpointBank checkpointBank;
+
+    @Setup
+    public void setUp() {
+        order = new OrderGenerator().generateOrder(new Random(0), orderSize);
+        checkpointBank = new CheckpointBank();
+        replay(checkpointBank, new ArrayList<>());
+    }
+
+    private void replay(Bank bank, List<Integer> path) {
+        Receipt receipt = new Receipt(bank);
+        for (String transaction : order) {
+            receipt.addTransaction(transaction);
+        }
+        for (int i = 0; i < path.size(); i++) {
+            branch(bank, i, path.get(i));
+        }
+    }
+
+    private long branch(Bank bank, int level, int branch) {
+        int id = bank.getID((level * branches + branch) % bank.size());
+        int receivingID = bank.getID((level * branches + branch + 1) % bank.size());
+        if (branch % 4 == 0) {
+            bank.deposit(id, dollars(100));
+        } else if (branch % 4 == 1) {
+            bank.withdraw(id, dollars(100));
+        } else if (branch % 4 == 2 && id != receivingID) {
+            bank.transfer(id, receivingID, dollars(100));
+        } else {
+            bank.timeTravel(1);
+        }
+
+        return bank.getAccount(id).getBalance();
+    }
+
+    private long searchWithCheckpoints(int level) {
+        if (level == depth) {
+            return 0;
+        }
+
+        long balance = 0;
+        for (int branch = 0; branch < branches; branch++) {
+            int checkpoint = checkpointBank.checkpoint();
+            balance += branch(checkpointBank, level, branch) + searchWithCheckpoints(level + 1);
+            checkpointBank.rollback(checkpoint);
+        }
+
+        return balance;
+    }
+
+    private long searchWithReplays(List<Integer> path) {
+        if (path.size() == depth) {
+            return 0;
+        }
+
+        long balance = 0;
+        for (int branch = 0; branch < branches; branch++) {
+            path.add(branch);
+            Bank bank = new HeapBank();
+            replay(bank, path);
+            balance += bank.getAccount(bank.getID(((path.size() - 1) * branches + branch) % bank.size())).getBalance() + searchWithReplays(path);
+            path.remove(path.size() - 1);
+        }
+
+        return balance;
+    }
+
+    @Benchmark
+    public long checkpoint() {
+        return searchWithCheckpoints(0);
+    }
+
+    @Benchmark
+    public long replay() {
+        return searchWithReplays(new ArrayList<>());
+    }
+}
@@ -0,0 +1,90 @@
+package server.game.pushing.paper.store.bank;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.store.handler.ChainOfResponsibility;
+import server.game.pushing.paper.store.log.TransactionLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static server.game.pushing.paper.store.bank.AccountType.*;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+public class BankSnapshotBenchmark {
+    @Param({"1000000"})
+    public int accounts;
+
+    private Path logPath;
+    private Path snapshotPath;
+
+    @Setup
+    public void setUp() throws IOException {
+        logPath = Files.createTempFile("bank", ".log");
+        snapshotPath = Files.createTempFile("bank", ".snapshot");
+        Random random = new Random(0);
+        try (TransactionLog log = new TransactionLog(logPath, 4096)) {
+            for (int id = 0; id < accounts; id++) {
+                if (id % 3 == 0) {
+                    log.append(Transaction.create(Checking, id, 0));
+                } else if (id % 3 == 1) {
+                    log.append(Transaction.create(Savings, id, 0));
+                } else {
+                    log.append(Transaction.create(CD, id, dollars(1000 + random.nextInt(9000))));
+                }
+            }
+            for (int i = 0; i < accounts; i++) {
+                int id = random.nextInt(accounts);
+                if (id % 3 != 2) {
+                    log.append(Transaction.deposit(id, dollars(1 + random.nextInt(1000))));
+                }
+            }
+            log.append(Transaction.timeTravel(6));
+            for (int i = 0; i < accounts / 2; i++) {
+                int payingID = random.nextInt(accounts);
+                int receivingID = random.nextInt(accounts);
+                if (payingID % 3 != 2 && receivingID % 3 != 2) {
+                    log.append(Transaction.transfer(payingID, receivingID, dollars(100)));
+                }
+            }
+            log.append(Transaction.timeTravel(6));
+        }
+
+        replay().writeSnapshot(snapshotPath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(logPath);
+        Files.delete(snapshotPath);
+    }
+
+    @Benchmark
+    public Bank replay() throws IOException {
+        Bank bank = new HeapBank();
+        try (TransactionLog log = new TransactionLog(logPath)) {
+            log.replay(new ChainOfResponsibility(bank).getProcessorDispatcher());
+        }
+
+        return bank;
+    }
+
+    @Benchmark
+    public Bank restore() throws IOException {
+        return Bank.readSnapshot(snapshotPath);
+    }
+
+    @Benchmark
+    public Bank restoreArrayBank() throws IOException {
+        return Bank.readSnapshot(snapshotPath, (savingsAPR, cdAPR) -> new ArrayBank(1, savingsAPR, cdAPR));
+    }
+}
@@ -0,0 +1,62 @@
+package server.game.pushing.paper.store.bank;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentBankBenchmark {
+    @Param({"ConcurrentBank", "SynchronizedBank"})
+    public String engine;
+
+    @Param({"100000"})
+    public int accounts;
+
+    private Bank bank;
+
+    @State(Scope.Thread)
+    public static class Transfers {
+        private final int[] ids = new int[1024];
+        private int index;
+
+        @Setup
+        public void setUp(ConcurrentBankBenchmark benchmark) {
+            Random random = new Random(Thread.currentThread().getId());
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = random.nextInt(benchmark.accounts);
+            }
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        bank = engine.equals("ConcurrentBank") ? new ConcurrentBank() : new HeapBank();
+        for (int id = 0; id < accounts; id++) {
+            bank.createCheckingAccount(id);
+            bank.deposit(id, dollars(1000));
+        }
+    }
+
+    @Benchmark
+    public void transfer(Transfers transfers) {
+        int payingID = transfers.ids[transfers.index++ & 1023];
+        int receivingID = transfers.ids[transfers.index++ & 1023];
+        if (bank instanceof ConcurrentBank) {
+            bank.deposit(payingID, dollars(100));
+            bank.transfer(payingID, receivingID, dollars(100));
+        } else {
+            synchronized (bank) {
+                bank.deposit(payingID, dollars(100));
+                bank.transfer(payingID, receivingID, dollars(100));
+            }
+        }
+    }
+}
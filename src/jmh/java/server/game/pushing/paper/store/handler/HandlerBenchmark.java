@@ -0,0 +1,92 @@
+package server.game.pushing.paper.store.handler;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.TransactionType;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
+
+import java.util.concurrent.TimeUnit;
+
+import static server.game.pushing.paper.store.bank.AccountType.Checking;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HandlerBenchmark {
+    @Param({"Create", "TimeTravel", "Deposit", "Withdraw", "Transfer"})
+    public TransactionType transactionType;
+
+    private Handler validators;
+    private Handler validatorDispatcher;
+    private Handler processors;
+    private Handler processorDispatcher;
+    private Transaction transaction;
+    private String line;
+
+    private Bank createBank() {
+        Bank bank = new HeapBank();
+        bank.createCheckingAccount(0);
+        bank.createSavingsAccount(1);
+
+        return bank;
+    }
+
+    @Setup
+    public void setUp() {
+        ChainOfResponsibility validatorBank = new ChainOfResponsibility(createBank());
+        ChainOfResponsibility processorBank = new ChainOfResponsibility(createBank());
+        validators = validatorBank.getValidators();
+        validatorDispatcher = validatorBank.getValidatorDispatcher();
+        processors = processorBank.getProcessors();
+        processorDispatcher = processorBank.getProcessorDispatcher();
+
+        switch (transactionType) {
+            case Create:
+                transaction = Transaction.create(Checking, 2, 0);
+                break;
+            case TimeTravel:
+                transaction = Transaction.timeTravel(1);
+                break;
+            case Deposit:
+                transaction = Transaction.deposit(0, dollars(100));
+                break;
+            case Withdraw:
+                transaction = Transaction.withdraw(0, dollars(100));
+                break;
+            case Transfer:
+                transaction = Transaction.transfer(0, 1, dollars(100));
+                break;
+        }
+        line = transaction.toString();
+    }
+
+    @Benchmark
+    public Transaction parse() {
+        return Transaction.parse(line);
+    }
+
+    @Benchmark
+    public boolean validatorChain() {
+        return validators.handleTransaction(transaction);
+    }
+
+    @Benchmark
+    public boolean validatorDispatcher() {
+        return validatorDispatcher.handleTransaction(transaction);
+    }
+
+    @Benchmark
+    public boolean processorChain() {
+        return processors.handleTransaction(transaction);
+    }
+
+    @Benchmark
+    public boolean processorDispatcher() {
+        return processorDispatcher.handleTransaction(transaction);
+    }
+}
@@ -0,0 +1,43 @@
+package server.game.pushing.paper.store.handler;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.Validity;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
+import server.game.pushing.paper.store.handler.validator.ValidatorDispatcher;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ValidityBenchmark {
+    @Param({
+            "deposit 00000000 100.00",
+            "deposit 00000000 1e3",
+            "deposit 0000000x 100.00",
+            "deposit 00000000",
+            "the power of friendship",
+            "transfer 00000000 00000002 100.00"
+    })
+    public String line;
+
+    private ValidatorDispatcher validators;
+
+    @Setup
+    public void setUp() {
+        Bank bank = new HeapBank();
+        bank.createCheckingAccount(0);
+        bank.createSavingsAccount(1);
+        validators = (new ChainOfResponsibility(bank)).getValidatorDispatcher();
+    }
+
+    @Benchmark
+    public Validity validate() {
+        return validators.validate(Transaction.parse(line));
+    }
+}
@@ -0,0 +1,90 @@
+package server.game.pushing.paper.store.log;
+
+import org.openjdk.jmh.annotations.*;
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
+import server.game.pushing.paper.store.handler.ChainOfResponsibility;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static server.game.pushing.paper.store.bank.AccountType.Checking;
+import static server.game.pushing.paper.store.bank.AccountType.Savings;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransactionLogBenchmark {
+    @Param({"1000000"})
+    public int transactions;
+
+    private Path path;
+    private Path appendPath;
+    private TransactionLog appendLog;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        path = Files.createTempFile("transactions", ".log");
+        Random random = new Random(0);
+        try (TransactionLog log = new TransactionLog(path, 4096)) {
+            for (int id = 0; id < 1000; id++) {
+                log.append(Transaction.create(id % 2 == 0 ? Checking : Savings, id, 0));
+            }
+            for (int i = 1000; i < transactions; i++) {
+                int operation = random.nextInt(100);
+                if (operation == 0) {
+                    log.append(Transaction.timeTravel(1));
+                } else if (operation < 40) {
+                    log.append(Transaction.deposit(random.nextInt(1000), dollars(random.nextInt(2500))));
+                } else if (operation < 60) {
+                    log.append(Transaction.withdraw(random.nextInt(1000), dollars(random.nextInt(400))));
+                } else {
+                    log.append(Transaction.transfer(random.nextInt(1000), random.nextInt(1000), dollars(random.nextInt(400))));
+                }
+            }
+        }
+
+        appendPath = Files.createTempFile("append", ".log");
+        appendLog = new TransactionLog(appendPath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        appendLog.close();
+        Files.delete(appendPath);
+        Files.delete(path);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 10)
+    public Bank replay() throws IOException {
+        Bank bank = new HeapBank();
+        try (TransactionLog log = new TransactionLog(path)) {
+            log.replay(new ChainOfResponsibility(bank).getProcessorDispatcher());
+        }
+
+        return bank;
+    }
+
+    @Benchmark
+    public void append() throws IOException {
+        appendLog.append(Transaction.deposit(index++ & 1023, dollars(100)));
+    }
+
+    @Benchmark
+    public void appendAndCommit() throws IOException {
+        appendLog.commit(appendLog.append(Transaction.deposit(index++ & 1023, dollars(100))));
+    }
+}
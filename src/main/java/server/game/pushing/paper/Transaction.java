@@ -0,0 +1,253 @@
+package server.game.pushing.paper;
+
+import server.game.pushing.paper.store.bank.AccountType;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.Money;
+
+import static server.game.pushing.paper.TransactionType.*;
+import static server.game.pushing.paper.Validity.*;
+import static server.game.pushing.paper.store.bank.AccountType.CD;
+import static server.game.pushing.paper.store.bank.Bank.formatID;
+
+public final class Transaction {
+    private final Validity validity;
+    private final TransactionType transactionType;
+    private final AccountType accountType;
+    private final int id;
+    private final int receivingID;
+    private final long amount;
+    private final int months;
+
+    private Transaction(Validity validity, TransactionType transactionType, AccountType accountType, int id, int receivingID, long amount, int months) {
+        this.validity = validity;
+        this.transactionType = transactionType;
+        this.accountType = accountType;
+        this.id = id;
+        this.receivingID = receivingID;
+        this.amount = amount;
+        this.months = months;
+    }
+
+    public static Transaction create(AccountType accountType, int id, long cdBalance) {
+        return new Transaction(Valid, Create, accountType, id, -1, accountType == CD ? cdBalance : 0, 0);
+    }
+
+    public static Transaction timeTravel(int months) {
+        return new Transaction(Valid, TimeTravel, null, -1, -1, 0, months);
+    }
+
+    public static Transaction deposit(int id, long depositAmount) {
+        return new Transaction(Valid, Deposit, null, id, -1, depositAmount, 0);
+    }
+
+    public static Transaction withdraw(int id, long withdrawAmount) {
+        return new Transaction(Valid, Withdraw, null, id, -1, withdrawAmount, 0);
+    }
+
+    public static Transaction transfer(int payingID, int receivingID, long transferAmount) {
+        return new Transaction(Valid, Transfer, null, payingID, receivingID, transferAmount, 0);
+    }
+
+    private static Transaction invalid(Validity validity) {
+        return new Transaction(validity, null, null, -1, -1, 0, 0);
+    }
+
+    public static Transaction parse(String transaction) {
+        int[] arguments = new int[8];
+        int size = 0;
+        int start = 0;
+        for (int i = 0; i <= transaction.length() && size < arguments.length; i++) {
+            if (i == transaction.length() || transaction.charAt(i) == ' ') {
+                arguments[size++] = start;
+                arguments[size++] = i;
+                start = i + 1;
+            }
+        }
+        size /= 2;
+
+        if (isArgument(transaction, arguments, size, 0, Create.name())) {
+            return parseCreate(transaction, arguments, size);
+        } else if (isTimeTravel(transaction, arguments, size)) {
+            return parseTimeTravel(transaction, arguments, size);
+        } else if (isArgument(transaction, arguments, size, 0, Deposit.name())
+                || isArgument(transaction, arguments, size, 0, Withdraw.name())) {
+            return parseDepositOrWithdraw(transaction, arguments, size);
+        } else if (isArgument(transaction, arguments, size, 0, Transfer.name())) {
+            return parseTransfer(transaction, arguments, size);
+        }
+
+        return invalid(UnknownTransactionType);
+    }
+
+    private static Transaction parseCreate(String transaction, int[] arguments, int size) {
+        if (size < 3) {
+            return invalid(MissingArgument);
+        }
+
+        AccountType accountType = parseAccountType(transaction, arguments);
+        int id = parseID(transaction, arguments, 2);
+        if (accountType == null) {
+            return invalid(UnknownAccountType);
+        } else if (id < 0) {
+            return invalid(MalformedID);
+        } else if (accountType != CD) {
+            return create(accountType, id, 0);
+        } else if (size < 4) {
+            return invalid(MissingArgument);
+        }
+
+        long cdBalance = parseAmount(transaction, arguments, 3);
+        return cdBalance == Long.MIN_VALUE ? invalid(MalformedAmount) : create(accountType, id, cdBalance);
+    }
+
+    private static Transaction parseTimeTravel(String transaction, int[] arguments, int size) {
+        if (size < 3) {
+            return invalid(MissingArgument);
+        }
+
+        long months = parseMonths(transaction, arguments, 2);
+        return months == Long.MIN_VALUE ? invalid(MalformedMonths) : timeTravel((int) months);
+    }
+
+    private static Transaction parseDepositOrWithdraw(String transaction, int[] arguments, int size) {
+        if (size < 3) {
+            return invalid(MissingArgument);
+        }
+
+        int id = parseID(transaction, arguments, 1);
+        long amount = parseAmount(transaction, arguments, 2);
+        if (id < 0) {
+            return invalid(MalformedID);
+        } else if (amount == Long.MIN_VALUE) {
+            return invalid(MalformedAmount);
+        }
+
+        return isArgument(transaction, arguments, size, 0, Deposit.name()) ? deposit(id, amount) : withdraw(id, amount);
+    }
+
+    private static Transaction parseTransfer(String transaction, int[] arguments, int size) {
+        if (size < 4) {
+            return invalid(MissingArgument);
+        }
+
+        int payingID = parseID(transaction, arguments, 1);
+        int receivingID = parseID(transaction, arguments, 2);
+        long transferAmount = parseAmount(transaction, arguments, 3);
+        if (payingID < 0 || receivingID < 0) {
+            return invalid(MalformedID);
+        } else if (transferAmount == Long.MIN_VALUE) {
+            return invalid(MalformedAmount);
+        }
+
+        return transfer(payingID, receivingID, transferAmount);
+    }
+
+    private static boolean isArgument(String transaction, int[] arguments, int size, int i, String name) {
+        return i < size
+                && arguments[2 * i + 1] - arguments[2 * i] == name.length()
+                && transaction.regionMatches(true, arguments[2 * i], name, 0, name.length());
+    }
+
+    private static boolean isTimeTravel(String transaction, int[] arguments, int size) {
+        if (size < 2) {
+            return false;
+        }
+
+        String name = TimeTravel.name();
+        int length = arguments[1] - arguments[0];
+        return length + arguments[3] - arguments[2] == name.length()
+                && transaction.regionMatches(true, arguments[0], name, 0, length)
+                && transaction.regionMatches(true, arguments[2], name, length, name.length() - length);
+    }
+
+    private static AccountType parseAccountType(String transaction, int[] arguments) {
+        for (AccountType accountType : AccountType.values()) {
+            if (isArgument(transaction, arguments, 2, 1, accountType.name())) {
+                return accountType;
+            }
+        }
+
+        return null;
+    }
+
+    private static int parseID(String transaction, int[] arguments, int i) {
+        return Bank.parseID(transaction, arguments[2 * i], arguments[2 * i + 1]);
+    }
+
+    private static long parseMonths(String transaction, int[] arguments, int i) {
+        int start = arguments[2 * i];
+        int end = arguments[2 * i + 1];
+        boolean isNegative = start < end && transaction.charAt(start) == '-';
+        if (start < end && (transaction.charAt(start) == '-' || transaction.charAt(start) == '+')) {
+            start++;
+        }
+        if (start == end || end - start > 9) {
+            return Long.MIN_VALUE;
+        }
+
+        long months = 0;
+        for (int j = start; j < end; j++) {
+            char digit = transaction.charAt(j);
+            if (digit < '0' || digit > '9') {
+                return Long.MIN_VALUE;
+            }
+
+            months = 10 * months + digit - '0';
+        }
+
+        return isNegative ? -months : months;
+    }
+
+    private static long parseAmount(String transaction, int[] arguments, int i) {
+        return Money.parse(transaction, arguments[2 * i], arguments[2 * i + 1]);
+    }
+
+    @Override
+    public String toString() {
+        if (transactionType == Create && accountType == CD) {
+            return "create cd " + formatID(id) + " " + Money.format(amount);
+        } else if (transactionType == Create) {
+            return "create " + accountType.name().toLowerCase() + " " + formatID(id);
+        } else if (transactionType == TimeTravel) {
+            return "time travel " + months;
+        } else if (transactionType == Transfer) {
+            return "transfer " + formatID(id) + " " + formatID(receivingID) + " " + Money.format(amount);
+        } else if (transactionType != null) {
+            return transactionType.name().toLowerCase() + " " + formatID(id) + " " + Money.format(amount);
+        }
+
+        return "";
+    }
+
+    public Validity getValidity() {
+        return validity;
+    }
+
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    public int getID() {
+        return id;
+    }
+
+    public int getPayingID() {
+        return id;
+    }
+
+    public int getReceivingID() {
+        return receivingID;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+}
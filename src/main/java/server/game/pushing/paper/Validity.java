@@ -0,0 +1,8 @@
+package server.game.pushing.paper;
+
+public enum Validity {
+    Valid,
+    UnknownTransactionType, UnknownAccountType, MissingArgument, MalformedID, MalformedAmount, MalformedMonths,
+    TakenID, UnknownAccount, SameAccount, InvalidCDBalance, InvalidTimeTravel, InvalidDepositAmount, InvalidWithdrawAmount,
+    Unprocessed
+}
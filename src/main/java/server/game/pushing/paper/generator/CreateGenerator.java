@@ -1,31 +1,34 @@
 package server.game.pushing.paper.generator;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.AccountType;
 import server.game.pushing.paper.store.bank.Bank;
 
 import java.util.Random;
 
 import static server.game.pushing.paper.TransactionType.Create;
+import static server.game.pushing.paper.store.bank.AccountType.CD;
 
 public class CreateGenerator extends Generator {
     public CreateGenerator(Random random, Bank bank) {
-        super(random, bank);
+        this(random, bank, new GenerationBudget());
+    }
+
+    public CreateGenerator(Random random, Bank bank, GenerationBudget budget) {
+        super(random, bank, budget);
         transactionType = Create;
     }
 
-    public String generateTransaction() {
+    public Transaction generateTransaction() {
         return generateTransaction(AccountType.values()[random.nextInt(AccountType.values().length)]);
     }
 
-    public String generateTransaction(AccountType accountType) {
-        String transaction = "";
-        while (!validators.handleTransaction(transaction)) {
-            String id = generateID(true);
-            double cdBalance = generateAmount(bank.getMaxCDBalance());
-
-            transaction = String.format("%s %s %s %.2f", transactionType, accountType, id, cdBalance).toLowerCase();
-        }
+    public Transaction generateTransaction(AccountType accountType) {
+        return generateTransaction(() -> {
+            int id = generateID();
+            long cdBalance = accountType == CD ? generateAmount(bank.getMinCDBalance(), bank.getMaxCDBalance()) : 0;
 
-        return transaction;
+            return Transaction.create(accountType, id, cdBalance);
+        });
     }
 }
@@ -1,6 +1,8 @@
 package server.game.pushing.paper.generator;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.account.AccountView;
 
 import java.util.Random;
 
@@ -8,21 +10,33 @@ import static server.game.pushing.paper.TransactionType.Deposit;
 
 public class DepositGenerator extends Generator {
     public DepositGenerator(Random random, Bank bank) {
-        super(random, bank);
+        this(random, bank, new GenerationBudget());
+    }
+
+    public DepositGenerator(Random random, Bank bank, GenerationBudget budget) {
+        super(random, bank, budget);
         transactionType = Deposit;
     }
 
-    public String generateTransaction() {
+    @Override
+    public boolean isFeasible() {
+        return bank.isDepositFeasible();
+    }
+
+    public Transaction generateTransaction() {
         checkException();
 
-        String transaction = "";
-        while (!validators.handleTransaction(transaction)) {
-            String id = generateID(false);
-            double depositAmount = generateAmount(bank.getAccount(id).getMaxDepositAmount());
+        return generateTransaction(() -> {
+            int count = countDepositIDs();
+            if (count == 0) {
+                return null;
+            }
 
-            transaction = String.format("%s %s %.2f", transactionType, id, depositAmount).toLowerCase();
-        }
+            int id = getDepositID(random.nextInt(count));
+            AccountView account = bank.getAccount(id);
+            long depositAmount = generateAmount(account.getMinDepositAmount(), account.getMaxDepositAmount());
 
-        return transaction;
+            return Transaction.deposit(id, depositAmount);
+        });
     }
 }
@@ -0,0 +1,39 @@
+package server.game.pushing.paper.generator;
+
+import java.time.Duration;
+
+public class GenerationBudget {
+    private final int maxAttempts;
+    private final long deadline;
+
+    public GenerationBudget() {
+        this(getDefaultMaxAttempts(), getDefaultTimeout());
+    }
+
+    public GenerationBudget(int maxAttempts, Duration timeout) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("generation budgets should have at least 1 attempt");
+        }
+
+        this.maxAttempts = maxAttempts;
+        deadline = System.nanoTime() + timeout.toNanos();
+    }
+
+    public void checkDeadline() {
+        if (System.nanoTime() - deadline > 0) {
+            throw new IllegalStateException("generators should finish before their deadline");
+        }
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public static int getDefaultMaxAttempts() {
+        return 100;
+    }
+
+    public static Duration getDefaultTimeout() {
+        return Duration.ofSeconds(1);
+    }
+}
@@ -1,44 +1,122 @@
 package server.game.pushing.paper.generator;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.TransactionType;
+import server.game.pushing.paper.store.bank.AccountType;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.account.AccountView;
 import server.game.pushing.paper.store.handler.ChainOfResponsibility;
 import server.game.pushing.paper.store.handler.Handler;
 
 import java.util.Random;
+import java.util.function.Supplier;
 
-import static server.game.pushing.paper.store.bank.AccountType.Checking;
+import static server.game.pushing.paper.store.bank.AccountType.*;
+import static server.game.pushing.paper.store.bank.Money.dollars;
 
 public abstract class Generator {
     protected Random random;
     protected Bank bank;
     protected TransactionType transactionType;
     protected Handler validators;
+    protected GenerationBudget budget;
+    protected long rejections;
 
     public Generator(Random random, Bank bank) {
+        this(random, bank, new GenerationBudget());
+    }
+
+    public Generator(Random random, Bank bank, GenerationBudget budget) {
         this.random = random;
         this.bank = bank;
-        validators = (new ChainOfResponsibility(bank)).getValidators();
+        validators = (new ChainOfResponsibility(bank)).getValidatorDispatcher();
+        this.budget = budget;
     }
 
     protected void checkException() {
-        if (bank.getAccounts().stream().filter(id -> bank.getAccount(id).getAccountType() == Checking).count() < 2) {
+        if (bank.countAccounts(Checking) < 2) {
             throw new IllegalArgumentException("generators should have 2 checking accounts");
         }
     }
 
-    public abstract String generateTransaction();
+    public boolean isFeasible() {
+        return true;
+    }
+
+    public abstract Transaction generateTransaction();
+
+    protected Transaction generateTransaction(Supplier<Transaction> candidates) {
+        for (int attempt = 0; attempt < budget.getMaxAttempts(); attempt++) {
+            budget.checkDeadline();
+
+            Transaction transaction = candidates.get();
+            if (transaction == null) {
+                return null;
+            } else if (validators.handleTransaction(transaction)) {
+                return transaction;
+            }
+
+            rejections++;
+        }
+
+        return null;
+    }
+
+    public long getRejections() {
+        return rejections;
+    }
+
+    protected int generateID() {
+        return bank.size();
+    }
+
+    protected int countDepositIDs() {
+        return bank.countAccounts(Checking) + bank.countAccounts(Savings);
+    }
+
+    protected int getDepositID(int i) {
+        int checkingCount = bank.countAccounts(Checking);
+        return i < checkingCount ? bank.getID(Checking, i) : bank.getID(Savings, i - checkingCount);
+    }
+
+    protected int countWithdrawIDs() {
+        int count = 0;
+        for (AccountType accountType : AccountType.values()) {
+            count += bank.countWithdrawAvailableAccounts(accountType);
+        }
+
+        return count;
+    }
+
+    protected int getWithdrawID(int i) {
+        for (AccountType accountType : AccountType.values()) {
+            int count = bank.countWithdrawAvailableAccounts(accountType);
+            if (i < count) {
+                return bank.getWithdrawAvailableID(accountType, i);
+            }
 
-    protected String generateID(boolean isUnique) {
-        if (isUnique) {
-            String id = String.format("0000000%s", bank.size());
-            return id.substring(id.length() - 8);
+            i -= count;
         }
 
-        return bank.getAccounts().get(random.nextInt(bank.getAccounts().size()));
+        throw new IndexOutOfBoundsException(i);
     }
 
-    protected double generateAmount(double amount) {
-        return (int) (amount * random.nextDouble() / 100) * 100;
+    protected long getMaxWithdrawAmount(AccountView account) {
+        return account.getAccountType() == CD ? roundUp(account.getMinWithdrawAmount()) : account.getMaxWithdrawAmount();
+    }
+
+    protected boolean isAmountValid(long minAmount, long maxAmount) {
+        return (minAmount + dollars(100) - 1) / dollars(100) <= maxAmount / dollars(100);
+    }
+
+    protected long roundUp(long amount) {
+        return dollars(100) * ((amount + dollars(100) - 1) / dollars(100));
+    }
+
+    protected long generateAmount(long minAmount, long maxAmount) {
+        long min = (minAmount + dollars(100) - 1) / dollars(100);
+        long max = maxAmount / dollars(100);
+
+        return dollars(100) * (min + random.nextInt((int) (max - min + 1)));
     }
 }
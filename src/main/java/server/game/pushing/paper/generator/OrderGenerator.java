@@ -1,38 +1,105 @@
 package server.game.pushing.paper.generator;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
 import server.game.pushing.paper.store.handler.ChainOfResponsibility;
 import server.game.pushing.paper.store.handler.Handler;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 
 import static server.game.pushing.paper.store.bank.AccountType.Checking;
 
 public class OrderGenerator {
+    private final int maxAttempts;
+    private final Duration timeout;
+    private long rejections;
+
+    public OrderGenerator() {
+        this(GenerationBudget.getDefaultMaxAttempts(), GenerationBudget.getDefaultTimeout());
+    }
+
+    public OrderGenerator(int maxAttempts, Duration timeout) {
+        this.maxAttempts = maxAttempts;
+        this.timeout = timeout;
+    }
+
     public List<String> generateOrder(Random random, int size) {
         List<String> order = new ArrayList<>();
-        Bank bank = new Bank();
-        List<Generator> generators = new ArrayList<>(Arrays.asList(
-                new CreateGenerator(random, bank),
-                new TimeTravelGenerator(random, bank),
-                new DepositGenerator(random, bank),
-                new WithdrawGenerator(random, bank),
-                new TransferGenerator(random, bank)
-        ));
-        Handler processors = (new ChainOfResponsibility(bank)).getProcessors();
+        Bank bank = new HeapBank();
+        GenerationBudget budget = new GenerationBudget(maxAttempts, timeout);
+        List<Generator> generators = Arrays.asList(
+                new CreateGenerator(random, bank, budget),
+                new TimeTravelGenerator(random, bank, budget),
+                new DepositGenerator(random, bank, budget),
+                new WithdrawGenerator(random, bank, budget),
+                new TransferGenerator(random, bank, budget)
+        );
+        List<Generator> candidates = new ArrayList<>(generators.size());
+        Handler processors = (new ChainOfResponsibility(bank)).getProcessorDispatcher();
 
         for (int i = 0; i < size; i++) {
-            String transaction = ((CreateGenerator) generators.get(0)).generateTransaction(Checking);
-            if (i > 1) {
-                transaction = generators.get(random.nextInt(generators.size())).generateTransaction();
+            Transaction transaction = i > 1
+                    ? generateTransaction(random, generators, candidates)
+                    : ((CreateGenerator) generators.get(0)).generateTransaction(Checking);
+            if (transaction == null) {
+                throw new IllegalStateException("order generators should have at least 1 feasible transaction type");
             }
+
             processors.handleTransaction(transaction);
-            order.add(transaction);
+            order.add(transaction.toString());
+        }
+        for (Generator generator : generators) {
+            rejections += generator.getRejections();
+        }
+
+        return order;
+    }
+
+    public List<String> generateOrder(Random random, int size, Collection<OrderTarget> targets) {
+        if (targets.isEmpty()) {
+            return generateOrder(random, size);
+        }
+
+        OrderSearch search = new OrderSearch(random, size, targets, new GenerationBudget(maxAttempts, timeout));
+        List<String> order = new ArrayList<>();
+        try {
+            for (Transaction transaction : search.search()) {
+                order.add(transaction.toString());
+            }
+        } finally {
+            rejections += search.getRejections();
         }
 
         return order;
     }
+
+    static Transaction generateTransaction(Random random, List<Generator> generators, List<Generator> candidates) {
+        candidates.clear();
+        for (Generator generator : generators) {
+            if (generator.isFeasible()) {
+                candidates.add(generator);
+            }
+        }
+        while (!candidates.isEmpty()) {
+            int i = random.nextInt(candidates.size());
+            Transaction transaction = candidates.get(i).generateTransaction();
+            if (transaction != null) {
+                return transaction;
+            }
+
+            candidates.remove(i);
+        }
+
+        return null;
+    }
+
+    public long getRejections() {
+        return rejections;
+    }
 }
@@ -0,0 +1,154 @@
+package server.game.pushing.paper.generator;
+
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.store.bank.CheckpointBank;
+import server.game.pushing.paper.store.handler.ChainOfResponsibility;
+import server.game.pushing.paper.store.handler.Handler;
+
+import java.util.*;
+
+import static server.game.pushing.paper.generator.OrderTarget.*;
+import static server.game.pushing.paper.store.bank.AccountType.CD;
+import static server.game.pushing.paper.store.bank.AccountType.Checking;
+
+class OrderSearch {
+    private final Random random;
+    private final int size;
+    private final GenerationBudget budget;
+    private final long maxNodes;
+    private long nodes;
+
+    private final CheckpointBank bank;
+    private final CreateGenerator createGenerator;
+    private final TimeTravelGenerator timeTravelGenerator;
+    private final DepositGenerator depositGenerator;
+    private final WithdrawGenerator withdrawGenerator;
+    private final TransferGenerator transferGenerator;
+    private final List<Generator> generators;
+    private final List<Generator> candidates;
+    private final Handler processors;
+
+    private final List<Transaction> transactions;
+    private final Set<OrderTarget> unmetTargets;
+
+    OrderSearch(Random random, int size, Collection<OrderTarget> targets, GenerationBudget budget) {
+        this.random = random;
+        this.size = size;
+        this.budget = budget;
+        maxNodes = (long) budget.getMaxAttempts() * getMaxBranches() * size;
+        nodes = 0;
+
+        bank = new CheckpointBank();
+        createGenerator = new CreateGenerator(random, bank, budget);
+        timeTravelGenerator = new TimeTravelGenerator(random, bank, budget);
+        depositGenerator = new DepositGenerator(random, bank, budget);
+        withdrawGenerator = new WithdrawGenerator(random, bank, budget);
+        transferGenerator = new TransferGenerator(random, bank, budget);
+        generators = Arrays.asList(createGenerator, timeTravelGenerator, depositGenerator, withdrawGenerator, transferGenerator);
+        candidates = new ArrayList<>(generators.size());
+        processors = (new ChainOfResponsibility(bank)).getProcessorDispatcher();
+
+        transactions = new ArrayList<>();
+        unmetTargets = EnumSet.noneOf(OrderTarget.class);
+        unmetTargets.addAll(targets);
+    }
+
+    List<Transaction> search() {
+        while (transactions.size() < Math.min(2, size)) {
+            Transaction transaction = createGenerator.generateTransaction(Checking);
+            processors.handleTransaction(transaction);
+            transactions.add(transaction);
+        }
+        if (!search(size - transactions.size())) {
+            throw new IllegalStateException("order generators should meet their targets within their budget");
+        }
+
+        return transactions;
+    }
+
+    private boolean search(int remainingTransactions) {
+        if (remainingTransactions == 0) {
+            return unmetTargets.isEmpty();
+        }
+
+        for (int branch = 0; branch < getMaxBranches(); branch++) {
+            budget.checkDeadline();
+            int slack = remainingTransactions - countMinTransactions();
+            if (slack < 0 || ++nodes > maxNodes) {
+                return false;
+            }
+
+            Transaction transaction = slack == 0
+                    ? generateProgress()
+                    : OrderGenerator.generateTransaction(random, generators, candidates);
+            if (transaction == null) {
+                continue;
+            }
+
+            Set<OrderTarget> metTargets = EnumSet.noneOf(OrderTarget.class);
+            for (OrderTarget target : unmetTargets) {
+                if (target.isMetBy(bank, transaction)) {
+                    metTargets.add(target);
+                }
+            }
+
+            int checkpoint = bank.checkpoint();
+            processors.handleTransaction(transaction);
+            transactions.add(transaction);
+            unmetTargets.removeAll(metTargets);
+            if (search(remainingTransactions - 1)) {
+                return true;
+            }
+
+            unmetTargets.addAll(metTargets);
+            transactions.remove(transactions.size() - 1);
+            bank.rollback(checkpoint);
+        }
+
+        return false;
+    }
+
+    private int countMinTransactions() {
+        int count = 0;
+        for (OrderTarget target : unmetTargets) {
+            count += target.countMinTransactions(bank);
+        }
+        if (unmetTargets.contains(MinBalanceFee) && unmetTargets.contains(MaturedCDWithdraw) && MaturedCDWithdraw.countMinTransactions(bank) > 1) {
+            count--;
+        }
+        if (unmetTargets.contains(MinBalanceFee) && unmetTargets.contains(Transfer) && MinBalanceFee.countMinTransactions(bank) > 1) {
+            count--;
+        }
+
+        return count;
+    }
+
+    private Transaction generateProgress() {
+        List<OrderTarget> targets = new ArrayList<>(unmetTargets);
+        OrderTarget target = targets.get(random.nextInt(targets.size()));
+        int count = target.countMinTransactions(bank);
+
+        if (target == Transfer) {
+            return transferGenerator.isFeasible() ? transferGenerator.generateTransaction() : depositGenerator.generateTransaction();
+        } else if (target == MinBalanceFee) {
+            return count == 1 ? timeTravelGenerator.generateTransaction() : depositGenerator.generateTransaction();
+        } else if (count == 1) {
+            return withdrawGenerator.generateTransaction(CD);
+        }
+
+        return count == 2 ? timeTravelGenerator.generateTransaction() : createGenerator.generateTransaction(CD);
+    }
+
+    long getRejections() {
+        long rejections = 0;
+        for (Generator generator : generators) {
+            rejections += generator.getRejections();
+        }
+
+        return rejections;
+    }
+
+    static int getMaxBranches() {
+        return 16;
+    }
+}
@@ -0,0 +1,45 @@
+package server.game.pushing.paper.generator;
+
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.TransactionType;
+import server.game.pushing.paper.store.bank.Bank;
+
+import static server.game.pushing.paper.store.bank.AccountType.CD;
+
+public enum OrderTarget {
+    Transfer, MinBalanceFee, MaturedCDWithdraw;
+
+    public boolean isMetBy(Bank bank, Transaction transaction) {
+        TransactionType transactionType = transaction.getTransactionType();
+        if (this == Transfer) {
+            return transactionType == TransactionType.Transfer;
+        } else if (this == MinBalanceFee) {
+            return transactionType == TransactionType.TimeTravel && transaction.getMonths() > 0 && hasMinBalanceFee(bank);
+        }
+
+        return transactionType == TransactionType.Withdraw && bank.getAccount(transaction.getID()).getAccountType() == CD;
+    }
+
+    public int countMinTransactions(Bank bank) {
+        if (this == Transfer) {
+            return 1;
+        } else if (this == MinBalanceFee) {
+            return hasMinBalanceFee(bank) ? 1 : 2;
+        } else if (bank.countWithdrawAvailableAccounts(CD) > 0) {
+            return 1;
+        }
+
+        return bank.countAccounts(CD) > 0 ? 2 : 3;
+    }
+
+    static boolean hasMinBalanceFee(Bank bank) {
+        for (int id : bank.getIDs()) {
+            long balance = bank.getAccount(id).getBalance();
+            if (balance > 0 && bank.isLowBalanceAccount(id)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -1,5 +1,6 @@
 package server.game.pushing.paper.generator;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
 
 import java.util.Random;
@@ -8,18 +9,24 @@ import static server.game.pushing.paper.TransactionType.TimeTravel;
 
 public class TimeTravelGenerator extends Generator {
     public TimeTravelGenerator(Random random, Bank bank) {
-        super(random, bank);
+        this(random, bank, new GenerationBudget());
+    }
+
+    public TimeTravelGenerator(Random random, Bank bank, GenerationBudget budget) {
+        super(random, bank, budget);
         transactionType = TimeTravel;
     }
 
-    public String generateTransaction() {
-        String transaction = "";
-        while (!validators.handleTransaction(transaction)) {
-            int months = random.nextInt(bank.getMaxTimeTravel());
+    @Override
+    public boolean isFeasible() {
+        return bank.isTimeTravelFeasible();
+    }
 
-            transaction = String.format("%s %s", transactionType, months).toLowerCase();
-        }
+    public Transaction generateTransaction() {
+        return generateTransaction(() -> {
+            int months = 1 + random.nextInt(bank.getMaxTimeTravel());
 
-        return transaction;
+            return Transaction.timeTravel(months);
+        });
     }
 }
@@ -1,30 +1,74 @@
 package server.game.pushing.paper.generator;
 
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.store.bank.AccountType;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.account.AccountView;
 
 import java.util.Random;
 
 import static java.lang.Math.min;
 import static server.game.pushing.paper.TransactionType.Transfer;
+import static server.game.pushing.paper.store.bank.AccountType.Checking;
+import static server.game.pushing.paper.store.bank.AccountType.Savings;
 
 public class TransferGenerator extends Generator {
     public TransferGenerator(Random random, Bank bank) {
-        super(random, bank);
+        this(random, bank, new GenerationBudget());
+    }
+
+    public TransferGenerator(Random random, Bank bank, GenerationBudget budget) {
+        super(random, bank, budget);
         transactionType = Transfer;
     }
 
-    public String generateTransaction() {
+    @Override
+    public boolean isFeasible() {
+        return bank.isTransferFeasible();
+    }
+
+    public Transaction generateTransaction() {
         checkException();
 
-        String transaction = "";
-        while (!validators.handleTransaction(transaction)) {
-            String payingID = generateID(false);
-            String receivingID = generateID(false);
-            double transferAmount = generateAmount(min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount()));
+        return generateTransaction(() -> {
+            int count = countWithdrawIDs();
+            int start = count == 0 ? 0 : random.nextInt(count);
+            for (int i = 0; i < count; i++) {
+                int payingID = getWithdrawID((start + i) % count);
+                AccountView payingAccount = bank.getAccount(payingID);
+                long minTransferAmount = payingAccount.getMinWithdrawAmount();
+                long maxWithdrawAmount = getMaxWithdrawAmount(payingAccount);
+
+                int checkingCount = countReceivingIDs(Checking, payingAccount, minTransferAmount, maxWithdrawAmount);
+                int savingsCount = countReceivingIDs(Savings, payingAccount, minTransferAmount, maxWithdrawAmount);
+                if (checkingCount + savingsCount > 0) {
+                    int j = random.nextInt(checkingCount + savingsCount);
+                    int receivingID = j < checkingCount
+                            ? getReceivingID(Checking, j, payingID)
+                            : getReceivingID(Savings, j - checkingCount, payingID);
+                    long transferAmount = generateAmount(minTransferAmount, min(maxWithdrawAmount, bank.getAccount(receivingID).getMaxDepositAmount()));
+
+                    return Transaction.transfer(payingID, receivingID, transferAmount);
+                }
 
-            transaction = String.format("%s %s %s %.2f", transactionType, payingID, receivingID, transferAmount).toLowerCase();
+                rejections++;
+            }
+
+            return null;
+        });
+    }
+
+    private int countReceivingIDs(AccountType accountType, AccountView payingAccount, long minTransferAmount, long maxWithdrawAmount) {
+        int count = bank.countAccounts(accountType);
+        if (count == 0 || !isAmountValid(minTransferAmount, min(maxWithdrawAmount, bank.getAccount(bank.getID(accountType, 0)).getMaxDepositAmount()))) {
+            return 0;
         }
 
-        return transaction;
+        return payingAccount.getAccountType() == accountType ? count - 1 : count;
+    }
+
+    private int getReceivingID(AccountType accountType, int i, int payingID) {
+        int id = bank.getID(accountType, i);
+        return id == payingID ? bank.getID(accountType, bank.countAccounts(accountType) - 1) : id;
     }
 }
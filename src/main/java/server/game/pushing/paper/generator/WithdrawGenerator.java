@@ -1,6 +1,9 @@
 package server.game.pushing.paper.generator;
 
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.store.bank.AccountType;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.account.AccountView;
 
 import java.util.Random;
 
@@ -8,21 +11,50 @@ import static server.game.pushing.paper.TransactionType.Withdraw;
 
 public class WithdrawGenerator extends Generator {
     public WithdrawGenerator(Random random, Bank bank) {
-        super(random, bank);
+        this(random, bank, new GenerationBudget());
+    }
+
+    public WithdrawGenerator(Random random, Bank bank, GenerationBudget budget) {
+        super(random, bank, budget);
         transactionType = Withdraw;
     }
 
-    public String generateTransaction() {
+    @Override
+    public boolean isFeasible() {
+        return bank.isWithdrawFeasible();
+    }
+
+    public Transaction generateTransaction() {
+        checkException();
+
+        return generateTransaction(() -> {
+            int count = countWithdrawIDs();
+            if (count == 0) {
+                return null;
+            }
+
+            int id = getWithdrawID(random.nextInt(count));
+            AccountView account = bank.getAccount(id);
+            long withdrawAmount = generateAmount(account.getMinWithdrawAmount(), getMaxWithdrawAmount(account));
+
+            return Transaction.withdraw(id, withdrawAmount);
+        });
+    }
+
+    public Transaction generateTransaction(AccountType accountType) {
         checkException();
 
-        String transaction = "";
-        while (!validators.handleTransaction(transaction)) {
-            String id = generateID(false);
-            double withdrawAmount = generateAmount(bank.getAccount(id).getMaxDepositAmount());
+        return generateTransaction(() -> {
+            int count = bank.countWithdrawAvailableAccounts(accountType);
+            if (count == 0) {
+                return null;
+            }
 
-            transaction = String.format("%s %s %.2f", transactionType, id, withdrawAmount).toLowerCase();
-        }
+            int id = bank.getWithdrawAvailableID(accountType, random.nextInt(count));
+            AccountView account = bank.getAccount(id);
+            long withdrawAmount = generateAmount(account.getMinWithdrawAmount(), getMaxWithdrawAmount(account));
 
-        return transaction;
+            return Transaction.withdraw(id, withdrawAmount);
+        });
     }
 }
@@ -0,0 +1,70 @@
+package server.game.pushing.paper.level;
+
+import java.util.Objects;
+
+import static server.game.pushing.paper.level.LevelID.getMaxSize;
+import static server.game.pushing.paper.level.LevelID.getMinSize;
+
+public class Difficulty {
+    private final int size;
+    private final int typos;
+    private final int moves;
+
+    public Difficulty(int size, int typos, int moves) {
+        if (size < getMinSize() || size > getMaxSize()) {
+            throw new IllegalArgumentException(String.format("difficulties should use an order size between %s and %s inclusive", getMinSize(), getMaxSize()));
+        }
+        if (typos < 0 || moves < 0) {
+            throw new IllegalArgumentException("difficulties should have at least 0 typos and moves");
+        }
+        if (typos + 2L * moves > getMaxMutatedLines(size)) {
+            throw new IllegalArgumentException(String.format("difficulties should mutate at most %s lines with typos and moves", getMaxMutatedLines(size)));
+        }
+
+        this.size = size;
+        this.typos = typos;
+        this.moves = moves;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof Difficulty)) {
+            return false;
+        }
+
+        Difficulty difficulty = (Difficulty) object;
+        return size == difficulty.size && typos == difficulty.typos && moves == difficulty.moves;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, typos, moves);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getTypos() {
+        return typos;
+    }
+
+    public int getMoves() {
+        return moves;
+    }
+
+    public static int getMaxMutatedLines(int size) {
+        return size / 2;
+    }
+
+    public static int getDefaultTypos() {
+        return 1;
+    }
+
+    public static int getDefaultMoves() {
+        return 1;
+    }
+}
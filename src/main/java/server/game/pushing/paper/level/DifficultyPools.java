@@ -0,0 +1,36 @@
+package server.game.pushing.paper.level;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+public class DifficultyPools {
+    private final Map<Integer, LevelPool> pools;
+
+    public DifficultyPools(int[] sizes, int capacity, int workers) {
+        Map<Integer, Difficulty> difficulties = new TreeMap<>();
+        for (int size : sizes) {
+            difficulties.put(size, new Difficulty(size, 0, 0));
+        }
+
+        pools = new TreeMap<>();
+        for (Difficulty difficulty : difficulties.values()) {
+            pools.put(difficulty.getSize(), new LevelPool(capacity, workers, () -> new Level(difficulty)));
+        }
+    }
+
+    public Level poll(Difficulty difficulty) {
+        LevelPool pool = pools.get(difficulty.getSize());
+        Level level = pool == null ? null : pool.tryPoll();
+        return level == null || !level.canHold(difficulty) ? null : new Level(level, difficulty);
+    }
+
+    public int size() {
+        return pools.size();
+    }
+
+    public void shutdown() {
+        for (LevelPool pool : pools.values()) {
+            pool.shutdown();
+        }
+    }
+}
@@ -1,111 +1,116 @@
 package server.game.pushing.paper.level;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import server.game.pushing.paper.generator.OrderGenerator;
 import server.game.pushing.paper.store.Store;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
-import static java.lang.Double.parseDouble;
-import static java.lang.Integer.parseInt;
-import static java.lang.String.join;
+import static java.lang.Math.min;
 import static java.lang.String.valueOf;
-import static java.util.Collections.swap;
-import static server.game.pushing.paper.level.Mutation.Move;
-import static server.game.pushing.paper.level.Mutation.Typo;
+import static server.game.pushing.paper.level.LevelID.getDefaultSize;
 
 public class Level {
-    private Random random;
+    private long mutationSeed;
+    public String id;
     public List<String> order;
     public List<String> receipt;
+    @JsonIgnore
     public List<String> transformation;
-
-    private int size;
-    private List<Mutation> mutations;
-    private List<Integer> locations;
+    @JsonIgnore
+    public long rejections;
 
     public Level() {
-        initializeTransformation();
-        generateMutations();
-        generateLocations();
-        placeMutations();
+        this(new Random().nextLong());
     }
 
-    private void initializeTransformation() {
-        random = new Random();
-        order = (new OrderGenerator()).generateOrder(random, 6);
-        receipt = (new Store() {{ setOrder(order); }}).getReceipt();
-        transformation = new ArrayList<>();
-        for (int i = 0; i < receipt.size(); i++) {
-            transformation.add(valueOf(i));
-        }
+    public Level(long seed) {
+        this(new LevelID(seed, getDefaultSize()));
     }
 
-    private void generateMutations() {
-        size = 2;
-        List<Mutation> potentialMutations = new ArrayList<>(Arrays.asList(Typo, Typo, Move));
-        mutations = new ArrayList<>();
-        while (mutations.size() < size) {
-            int mutation = random.nextInt((potentialMutations.size()));
-
-            mutations.add(potentialMutations.get(mutation));
-            potentialMutations.remove(mutation);
-        }
+    public Level(Difficulty difficulty) {
+        this(new LevelID(new Random().nextLong(), difficulty));
     }
 
-    private void generateLocations() {
-        locations = new ArrayList<>();
-        while (locations.size() < size) {
-            int location = random.nextInt(receipt.size());
+    public Level(LevelID id) {
+        this.id = id.toString();
+        Random random = new Random(id.getSeed());
 
-            if (!receipt.get(location).equals("") && !locations.contains(location)) {
-                locations.add(location);
+        for (int attempt = 1; ; attempt++) {
+            initializeTransformation(random, id.getSize());
+            mutationSeed = random.nextLong();
+            if (placeMutations(id.getDifficulty(), attempt == getMaxOrderAttempts())) {
+                return;
             }
         }
     }
 
-    private void placeTypo(int location) {
-        List<String> transactionArguments = new ArrayList<>(Arrays.asList(receipt.get(location).split(" ")));
-        int microLocation = random.nextInt(transactionArguments.size());
-        String transactionArgument = transactionArguments.get(microLocation);
-
-        String microMutation;
-        if (transactionArgument.matches("[a-zA-Z]*")) {
-            StringBuilder stringBuilder = new StringBuilder(transactionArgument);
-            stringBuilder.deleteCharAt(random.nextInt(stringBuilder.length()));
-            microMutation = stringBuilder.toString();
-        } else if (transactionArgument.matches("[0-9]{8}")) {
-            microMutation = String.format("0000000%s", parseInt(transactionArgument) + 1);
-            microMutation = microMutation.substring(microMutation.length() - 8);
-        } else {
-            microMutation = String.format("%.2f", parseDouble(transactionArgument) + 100);
+    public Level(Level level, Difficulty difficulty) {
+        if (!level.canHold(difficulty)) {
+            throw new IllegalArgumentException("levels should only place the typos and moves that the receipt of the level they mutate can hold");
         }
 
-        transactionArguments.set(microLocation, microMutation);
-        receipt.set(location, join(" ", transactionArguments));
-        transformation.set(location, Typo.name().toLowerCase());
+        id = (new LevelID(LevelID.parse(level.id).getSeed(), difficulty)).toString();
+        mutationSeed = level.mutationSeed;
+        order = level.order;
+        receipt = new ArrayList<>(level.receipt);
+        initializeTransformation();
+        placeMutations(difficulty, true);
+    }
+
+    public boolean canHold(Difficulty difficulty) {
+        return difficulty.getSize() == order.size() && difficulty.getMoves() <= Mutator.getMaxMoves(receipt) && difficulty.getTypos() <= Mutator.getMaxTypos(receipt, difficulty.getMoves());
     }
 
-    private void placeMove(int location) {
-        swap(receipt, location, location + 1);
-        if (transformation.get(location + 1).equalsIgnoreCase(Typo.name())) {
-            transformation.set(location, Typo.name().toLowerCase());
+    private void initializeTransformation(Random random, int orderSize) {
+        OrderGenerator orderGenerator = new OrderGenerator();
+        order = orderGenerator.generateOrder(random, orderSize);
+        rejections += orderGenerator.getRejections();
+        receipt = (new Store() {{ setOrder(order); }}).getReceipt();
+        initializeTransformation();
+    }
+
+    private void initializeTransformation() {
+        transformation = new ArrayList<>(receipt.size());
+        for (int i = 0; i < receipt.size(); i++) {
+            transformation.add(valueOf(i));
         }
-        transformation.set(location + 1, Move.name().toLowerCase());
     }
 
-    private void placeMutations() {
-        for (int i = 0; i < mutations.size(); i++) {
-            if (mutations.get(i) == Typo) {
-                placeTypo(locations.get(i));
-            }
+    private boolean placeMutations(Difficulty difficulty, boolean isLastAttempt) {
+        Random random = new Random(mutationSeed);
+        int moves = difficulty == null ? (random.nextInt(3) == 0 ? 0 : 1) : difficulty.getMoves();
+        int typos = difficulty == null ? getDefaultMutations() - moves : difficulty.getTypos();
+        int maxMoves = Mutator.getMaxMoves(receipt);
+        if (moves <= maxMoves && typos <= Mutator.getMaxTypos(receipt, moves)) {
+            (new Mutator(random, receipt, transformation)).mutate(typos, moves);
+            return true;
+        } else if (isLastAttempt) {
+            moves = min(moves, maxMoves);
+            (new Mutator(random, receipt, transformation)).mutate(min(typos, Mutator.getMaxTypos(receipt, moves)), moves);
+            return true;
         }
-        for (int i = 0; i < locations.size(); i++) {
-            if (mutations.get(i) == Move) {
-                placeMove(locations.get(i));
-            }
+
+        return false;
+    }
+
+    public boolean[] verify(List<String> transformation) {
+        boolean[] verification = new boolean[this.transformation.size()];
+        for (int i = 0; i < verification.length && i < transformation.size(); i++) {
+            String line = transformation.get(i);
+            verification[i] = line != null && line.equalsIgnoreCase(this.transformation.get(i));
         }
+
+        return verification;
+    }
+
+    public static int getDefaultMutations() {
+        return 2;
+    }
+
+    public static int getMaxOrderAttempts() {
+        return 8;
     }
 }
@@ -0,0 +1,64 @@
+package server.game.pushing.paper.level;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+public class LevelCache<K> {
+    private final Map<K, FutureTask<Level>> levels;
+    private final Function<K, Level> generator;
+
+    public LevelCache(int capacity, Function<K, Level> generator) {
+        levels = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, FutureTask<Level>> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.generator = generator;
+    }
+
+    public Level get(K key) {
+        FutureTask<Level> level;
+        boolean isGenerator = false;
+        synchronized (levels) {
+            level = levels.get(key);
+            if (level == null) {
+                level = new FutureTask<>(() -> generator.apply(key));
+                levels.put(key, level);
+                isGenerator = true;
+            }
+        }
+
+        if (isGenerator) {
+            level.run();
+        }
+        try {
+            return level.get();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        } catch (ExecutionException exception) {
+            synchronized (levels) {
+                levels.remove(key, level);
+            }
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+
+    public void put(K key, Level level) {
+        FutureTask<Level> task = new FutureTask<>(() -> level);
+        task.run();
+        synchronized (levels) {
+            levels.putIfAbsent(key, task);
+        }
+    }
+
+    public int size() {
+        synchronized (levels) {
+            return levels.size();
+        }
+    }
+}
@@ -1,15 +1,178 @@
 package server.game.pushing.paper.level;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+
+import static java.lang.Math.min;
 
 @RestController
 @RequestMapping("/")
 public class LevelController {
+    private final LevelPool levelPool;
+    private final LevelCache<LevelID> levelCache;
+    private final DifficultyPools difficultyPools;
+    private final int maxInlineSize;
+    private final Semaphore largeGenerations;
+    private final ExecutorService executor;
+    private final int maxCount;
+    private final ObjectMapper objectMapper;
+
+    public LevelController(
+            @Value("${level.pool.capacity:64}") int poolCapacity,
+            @Value("${level.pool.workers:2}") int workers,
+            @Value("${level.cache.capacity:1024}") int cacheCapacity,
+            @Value("${level.stream.max-count:100}") int maxCount,
+            @Value("${level.difficulty.pool.sizes:200,500,1000}") int[] difficultyPoolSizes,
+            @Value("${level.difficulty.pool.capacity:4}") int difficultyPoolCapacity,
+            @Value("${level.difficulty.pool.workers:1}") int difficultyPoolWorkers,
+            @Value("${level.difficulty.max-inline-size:100}") int maxInlineSize,
+            @Value("${level.difficulty.max-large-generations:1}") int maxLargeGenerations,
+            ObjectMapper objectMapper
+    ) {
+        levelPool = new LevelPool(poolCapacity, workers, Level::new);
+        levelCache = new LevelCache<>(cacheCapacity, this::generateLevel);
+        difficultyPools = new DifficultyPools(difficultyPoolSizes, difficultyPoolCapacity, difficultyPoolWorkers);
+        this.maxInlineSize = maxInlineSize;
+        largeGenerations = new Semaphore(maxLargeGenerations);
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.maxCount = maxCount;
+        this.objectMapper = objectMapper;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        levelPool.shutdown();
+        difficultyPools.shutdown();
+        executor.shutdownNow();
+    }
+
     @CrossOrigin(origins = { "https://solidwaterslayer.github.io", "http://localhost:4200" })
     @GetMapping
-    public @ResponseBody ResponseEntity<Level> getLevel() {
-        return new ResponseEntity<>(new Level(), HttpStatus.OK);
+    public @ResponseBody ResponseEntity<Level> getLevel(
+            @RequestParam(required = false) Long seed,
+            @RequestParam(required = false) String id,
+            @RequestParam(required = false) Integer orderSize,
+            @RequestParam(required = false) Integer typos,
+            @RequestParam(required = false) Integer moves
+    ) {
+        Difficulty difficulty = null;
+        try {
+            if (id != null) {
+                return new ResponseEntity<>(levelCache.get(LevelID.parse(id)), HttpStatus.OK);
+            } else if (orderSize != null || typos != null || moves != null) {
+                difficulty = new Difficulty(
+                        orderSize == null ? LevelID.getDefaultSize() : orderSize,
+                        typos == null ? Difficulty.getDefaultTypos() : typos,
+                        moves == null ? Difficulty.getDefaultMoves() : moves
+                );
+            }
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        if (seed != null) {
+            LevelID levelID = difficulty == null ? new LevelID(seed, LevelID.getDefaultSize()) : new LevelID(seed, difficulty);
+            return new ResponseEntity<>(levelCache.get(levelID), HttpStatus.OK);
+        } else if (difficulty == null) {
+            return new ResponseEntity<>(levelPool.poll(), HttpStatus.OK);
+        } else if (difficulty.getSize() > maxInlineSize) {
+            Level level = difficultyPools.poll(difficulty);
+            if (level == null) {
+                return new ResponseEntity<>(levelCache.get(new LevelID(new Random().nextLong(), difficulty)), HttpStatus.OK);
+            }
+
+            levelCache.put(LevelID.parse(level.id), level);
+            return new ResponseEntity<>(level, HttpStatus.OK);
+        }
+
+        return new ResponseEntity<>(new Level(difficulty), HttpStatus.OK);
+    }
+
+    private Level generateLevel(LevelID id) {
+        if (id.getSize() <= maxInlineSize) {
+            return new Level(id);
+        } else if (!largeGenerations.tryAcquire()) {
+            throw new IllegalStateException(String.format("level controllers are already generating their most uncached levels above an order size of %s", maxInlineSize));
+        }
+
+        try {
+            return new Level(id);
+        } finally {
+            largeGenerations.release();
+        }
+    }
+
+    @CrossOrigin(origins = { "https://solidwaterslayer.github.io", "http://localhost:4200" })
+    @PostMapping("/verify")
+    public @ResponseBody ResponseEntity<boolean[]> verify(@RequestBody Verification verification) {
+        if (verification.id == null || verification.transformation == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        try {
+            return new ResponseEntity<>(levelCache.get(LevelID.parse(verification.id)).verify(verification.transformation), HttpStatus.OK);
+        } catch (IllegalArgumentException exception) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<Void> handleGenerationFailure() {
+        return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @GetMapping("/pool")
+    public @ResponseBody ResponseEntity<LevelPoolStatistics> getLevelPoolStatistics() {
+        return new ResponseEntity<>(levelPool.getStatistics(), HttpStatus.OK);
+    }
+
+    @CrossOrigin(origins = { "https://solidwaterslayer.github.io", "http://localhost:4200" })
+    @GetMapping(value = "/levels", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public @ResponseBody ResponseEntity<StreamingResponseBody> getLevels(@RequestParam(defaultValue = "1") int count) {
+        if (count < 1) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        int size = min(count, maxCount);
+        return new ResponseEntity<>(outputStream -> streamLevels(size, outputStream), HttpStatus.OK);
+    }
+
+    private void streamLevels(int count, OutputStream outputStream) throws IOException {
+        CompletionService<Level> levels = new ExecutorCompletionService<>(executor);
+        List<Future<Level>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(levels.submit(levelPool::poll));
+        }
+
+        try {
+            for (int i = 0; i < count; i++) {
+                outputStream.write(objectMapper.writeValueAsBytes(levels.take().get()));
+                outputStream.write('\n');
+                outputStream.flush();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException exception) {
+            throw new IOException(exception.getCause());
+        } finally {
+            for (Future<Level> future : futures) {
+                future.cancel(true);
+            }
+        }
     }
 }
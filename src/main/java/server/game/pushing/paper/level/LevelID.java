@@ -0,0 +1,114 @@
+package server.game.pushing.paper.level;
+
+import java.util.Objects;
+
+public class LevelID {
+    private final int version;
+    private final int size;
+    private final long seed;
+    private final Difficulty difficulty;
+
+    public LevelID(long seed, int size) {
+        this(getMutationVersion(), size, seed, null);
+    }
+
+    public LevelID(long seed, Difficulty difficulty) {
+        this(getMutationVersion(), difficulty.getSize(), seed, difficulty);
+    }
+
+    private LevelID(int version, int size, long seed, Difficulty difficulty) {
+        if (version != getMutationVersion()) {
+            throw new IllegalArgumentException(String.format("level ids should use mutation version %s", getMutationVersion()));
+        }
+        if (size < getMinSize() || size > getMaxSize()) {
+            throw new IllegalArgumentException(String.format("level ids should use an order size between %s and %s inclusive", getMinSize(), getMaxSize()));
+        }
+
+        this.version = version;
+        this.size = size;
+        this.seed = seed;
+        this.difficulty = difficulty;
+    }
+
+    public static LevelID parse(String id) {
+        int sizeIndex = id.indexOf('-') + 1;
+        int seedIndex = id.indexOf('-', sizeIndex) + 1;
+        int typosIndex = seedIndex == 0 ? 0 : id.indexOf('-', seedIndex) + 1;
+        int movesIndex = typosIndex == 0 ? 0 : id.indexOf('-', typosIndex) + 1;
+        if (sizeIndex == 0 || seedIndex == 0 || typosIndex != 0 && (movesIndex == 0 || id.indexOf('-', movesIndex) != -1)) {
+            throw new IllegalArgumentException("level ids should have a version, size and seed, and optionally typos and moves");
+        }
+
+        try {
+            int size = Integer.parseInt(id, sizeIndex, seedIndex - 1, 10);
+            return new LevelID(
+                    Integer.parseInt(id, 0, sizeIndex - 1, 10),
+                    size,
+                    Long.parseUnsignedLong(id, seedIndex, typosIndex == 0 ? id.length() : typosIndex - 1, Character.MAX_RADIX),
+                    typosIndex == 0 ? null : new Difficulty(
+                            size,
+                            Integer.parseInt(id, typosIndex, movesIndex - 1, 10),
+                            Integer.parseInt(id, movesIndex, id.length(), 10)
+                    )
+            );
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("level ids should have a numeric version, size, seed, typos and moves", exception);
+        }
+    }
+
+    @Override
+    public String toString() {
+        String id = String.format("%s-%s-%s", version, size, Long.toUnsignedString(seed, Character.MAX_RADIX));
+        return difficulty == null ? id : String.format("%s-%s-%s", id, difficulty.getTypos(), difficulty.getMoves());
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof LevelID)) {
+            return false;
+        }
+
+        LevelID levelID = (LevelID) object;
+        return version == levelID.version && size == levelID.size && seed == levelID.seed && Objects.equals(difficulty, levelID.difficulty);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, size, seed, difficulty);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public static int getMutationVersion() {
+        return 6;
+    }
+
+    public static int getDefaultSize() {
+        return 6;
+    }
+
+    public static int getMinSize() {
+        return 3;
+    }
+
+    public static int getMaxSize() {
+        return 1000;
+    }
+}
@@ -0,0 +1,117 @@
+package server.game.pushing.paper.level;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+public class LevelPool {
+    private final int capacity;
+    private final RingBuffer<Level> levels;
+    private final Supplier<Level> supplier;
+    private final List<Thread> workers;
+    private volatile boolean isRunning;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder refills;
+    private final LongAdder failures;
+    private final LongAdder rejections;
+    private final LongAdder refillNanos;
+    private final AtomicLong maxRefillNanos;
+
+    public LevelPool(int capacity, int workers, Supplier<Level> supplier) {
+        if (workers < 0) {
+            throw new IllegalArgumentException("level pools should have at least 0 workers");
+        }
+
+        this.capacity = capacity;
+        levels = new RingBuffer<>(capacity);
+        this.supplier = supplier;
+        this.workers = new ArrayList<>();
+        isRunning = true;
+
+        hits = new LongAdder();
+        misses = new LongAdder();
+        refills = new LongAdder();
+        failures = new LongAdder();
+        rejections = new LongAdder();
+        refillNanos = new LongAdder();
+        maxRefillNanos = new AtomicLong();
+
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::refill, "level-pool-" + i);
+            worker.setDaemon(true);
+            this.workers.add(worker);
+            worker.start();
+        }
+    }
+
+    private void refill() {
+        while (isRunning) {
+            if (levels.size() >= capacity) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(10));
+                continue;
+            }
+
+            long start = System.nanoTime();
+            Level level;
+            try {
+                level = supplier.get();
+            } catch (IllegalStateException exception) {
+                failures.increment();
+                continue;
+            }
+            long nanos = System.nanoTime() - start;
+            rejections.add(level.rejections);
+
+            if (levels.offer(level)) {
+                refills.increment();
+                refillNanos.add(nanos);
+                maxRefillNanos.accumulateAndGet(nanos, Math::max);
+            }
+        }
+    }
+
+    public Level poll() {
+        Level level = tryPoll();
+        if (level == null) {
+            level = supplier.get();
+            rejections.add(level.rejections);
+        }
+
+        return level;
+    }
+
+    public Level tryPoll() {
+        Level level = levels.poll();
+        if (level == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        if (!workers.isEmpty()) {
+            LockSupport.unpark(workers.get((int) (hits.sum() % workers.size())));
+        }
+        return level;
+    }
+
+    public int size() {
+        return levels.size();
+    }
+
+    public LevelPoolStatistics getStatistics() {
+        return new LevelPoolStatistics(capacity, size(), hits.sum(), misses.sum(), refills.sum(), failures.sum(), rejections.sum(), refillNanos.sum(), maxRefillNanos.get());
+    }
+
+    public void shutdown() {
+        isRunning = false;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package server.game.pushing.paper.level;
+
+public class LevelPoolStatistics {
+    public final int capacity;
+    public final int depth;
+    public final long hits;
+    public final long misses;
+    public final long refills;
+    public final long failures;
+    public final long rejections;
+    public final double averageRefillMillis;
+    public final double maxRefillMillis;
+
+    public LevelPoolStatistics(int capacity, int depth, long hits, long misses, long refills, long failures, long rejections, long refillNanos, long maxRefillNanos) {
+        this.capacity = capacity;
+        this.depth = depth;
+        this.hits = hits;
+        this.misses = misses;
+        this.refills = refills;
+        this.failures = failures;
+        this.rejections = rejections;
+        averageRefillMillis = refills == 0 ? 0 : refillNanos / 1e6 / refills;
+        this.maxRefillMillis = maxRefillNanos / 1e6;
+    }
+}
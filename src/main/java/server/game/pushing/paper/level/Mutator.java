@@ -0,0 +1,129 @@
+package server.game.pushing.paper.level;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static java.util.Collections.swap;
+import static server.game.pushing.paper.level.Mutation.Move;
+import static server.game.pushing.paper.level.Mutation.Typo;
+
+class Mutator {
+    private final Random random;
+    private final List<String> receipt;
+    private final List<String> transformation;
+    private final Map<Integer, Integer> swappedLocations;
+    private final Set<Integer> mutatedLocations;
+    private final List<Integer> typoLocations;
+    private int size;
+
+    Mutator(Random random, List<String> receipt, List<String> transformation) {
+        this.random = random;
+        this.receipt = receipt;
+        this.transformation = transformation;
+        swappedLocations = new HashMap<>();
+        mutatedLocations = new HashSet<>();
+        typoLocations = new ArrayList<>();
+        size = receipt.size();
+    }
+
+    void mutate(int typos, int moves) {
+        if (typos < 0 || moves < 0) {
+            throw new IllegalArgumentException("mutators should place at least 0 typos and moves");
+        }
+
+        for (int i = 0; i < moves; i++) {
+            placeMove(sampleLocation(Move));
+        }
+        for (int location : typoLocations) {
+            swappedLocations.put(size++, location);
+        }
+        typoLocations.clear();
+        for (int i = 0; i < typos; i++) {
+            placeTypo(sampleLocation(Typo));
+        }
+    }
+
+    static int getMaxMoves(List<String> receipt) {
+        int lines = 0;
+        for (int i = 0; i + 1 < receipt.size(); i++) {
+            if (!receipt.get(i).isEmpty()) {
+                lines++;
+            }
+        }
+
+        return (lines + 2) / 3;
+    }
+
+    static int getMaxTypos(List<String> receipt, int moves) {
+        int lines = 0;
+        for (String line : receipt) {
+            if (!line.isEmpty()) {
+                lines++;
+            }
+        }
+
+        return Math.max(0, lines - 2 * moves);
+    }
+
+    private int sampleLocation(Mutation mutation) {
+        while (size > 0) {
+            int i = random.nextInt(size);
+            int location = swappedLocations.getOrDefault(i, i);
+            size--;
+            swappedLocations.put(i, swappedLocations.getOrDefault(size, size));
+            swappedLocations.remove(size);
+
+            if (isAvailable(location)) {
+                if (mutation == Typo || isFollowingAvailable(location)) {
+                    return location;
+                }
+
+                typoLocations.add(location);
+            }
+        }
+
+        throw new IllegalStateException("mutators should have enough receipt lines for their mutations");
+    }
+
+    private boolean isAvailable(int location) {
+        return !receipt.get(location).isEmpty() && !mutatedLocations.contains(location);
+    }
+
+    private boolean isFollowingAvailable(int location) {
+        return location + 1 < receipt.size() && !mutatedLocations.contains(location + 1);
+    }
+
+    private void placeTypo(int location) {
+        String line = receipt.get(location);
+        int count = 1;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ' ') {
+                count++;
+            }
+        }
+
+        int start = 0;
+        for (int token = random.nextInt(count); token > 0; token--) {
+            start = line.indexOf(' ', start) + 1;
+        }
+        int end = line.indexOf(' ', start);
+        end = end == -1 ? line.length() : end;
+
+        String microMutation = Token.classify(line, start, end).mutate(random, line, start, end);
+        receipt.set(location, line.substring(0, start) + microMutation + line.substring(end));
+        mutatedLocations.add(location);
+        transformation.set(location, Typo.name().toLowerCase());
+    }
+
+    private void placeMove(int location) {
+        swap(receipt, location, location + 1);
+        mutatedLocations.add(location);
+        mutatedLocations.add(location + 1);
+        transformation.set(location + 1, Move.name().toLowerCase());
+    }
+}
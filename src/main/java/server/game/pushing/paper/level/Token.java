@@ -0,0 +1,37 @@
+package server.game.pushing.paper.level;
+
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.Money;
+
+import java.util.Random;
+
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+enum Token {
+    Word, ID, Amount;
+
+    static Token classify(String line, int start, int end) {
+        if (Bank.parseID(line, start, end) != -1) {
+            return ID;
+        }
+        for (int i = start; i < end; i++) {
+            char character = line.charAt(i);
+            if ((character < 'a' || character > 'z') && (character < 'A' || character > 'Z')) {
+                return Amount;
+            }
+        }
+
+        return Word;
+    }
+
+    String mutate(Random random, String line, int start, int end) {
+        if (this == Word) {
+            int i = start + random.nextInt(end - start);
+            return line.substring(start, i) + line.substring(i + 1, end);
+        } else if (this == ID) {
+            return Bank.formatID(Bank.parseID(line, start, end) + 1);
+        }
+
+        return Money.format(Money.parse(line, start, end) + dollars(100));
+    }
+}
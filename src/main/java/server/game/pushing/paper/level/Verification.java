@@ -0,0 +1,8 @@
+package server.game.pushing.paper.level;
+
+import java.util.List;
+
+public class Verification {
+    public String id;
+    public List<String> transformation;
+}
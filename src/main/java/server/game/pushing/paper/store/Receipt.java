@@ -1,64 +1,109 @@
 package server.game.pushing.paper.store;
 
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.Validity;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
 import server.game.pushing.paper.store.handler.ChainOfResponsibility;
 import server.game.pushing.paper.store.handler.Handler;
+import server.game.pushing.paper.store.handler.validator.ValidatorDispatcher;
+import server.game.pushing.paper.store.log.LogHandler;
+import server.game.pushing.paper.store.log.TransactionLog;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static java.lang.Double.parseDouble;
 import static server.game.pushing.paper.TransactionType.*;
+import static server.game.pushing.paper.Validity.Unprocessed;
+import static server.game.pushing.paper.Validity.Valid;
 
 public class Receipt {
-    private final Map<String, List<String>> transactions;
+    private final Map<Integer, List<String>> transactions;
+    private final List<String> invalidTransactions;
+    private final List<Validity> validities;
 
     private final Bank bank;
-    private final Handler validators;
-    private final Handler processors;
+    private final ValidatorDispatcher validators;
+    private Handler processors;
+    private TransactionLog log;
 
     public Receipt() {
+        this(new HeapBank());
+    }
+
+    public Receipt(Bank bank, TransactionLog log) throws IOException {
+        this(bank);
+
+        log.replay(transaction -> {
+            if (processors.handleTransaction(transaction)) {
+                addValidTransaction(transaction);
+            }
+        });
+        processors = new LogHandler(bank, processors, log);
+        this.log = log;
+    }
+
+    public Receipt(Bank bank) {
         transactions = new HashMap<>();
-        transactions.put(null, new ArrayList<>());
+        invalidTransactions = new ArrayList<>();
+        validities = new ArrayList<>();
 
-        bank = new Bank();
+        this.bank = bank;
         ChainOfResponsibility chainOfResponsibility = new ChainOfResponsibility(bank);
-        validators = chainOfResponsibility.getValidators();
-        processors = chainOfResponsibility.getProcessors();
+        validators = chainOfResponsibility.getValidatorDispatcher();
+        processors = chainOfResponsibility.getProcessorDispatcher();
     }
 
     public List<String> output() {
         List<String> transactions = new ArrayList<>();
 
-        for (String id : bank.getAccounts()) {
+        for (int id : bank.getIDs()) {
             transactions.add(bank.getAccount(id).toString());
             transactions.addAll(this.transactions.get(id));
             transactions.add("");
         }
-        transactions.addAll(this.transactions.get(null));
+        transactions.addAll(invalidTransactions);
 
         return transactions;
     }
 
     public void addTransaction(String transaction) {
-        if (validators.handleTransaction(transaction) && processors.handleTransaction(transaction)) {
-            addValidTransaction(transaction.toLowerCase().split(" "));
+        Transaction parsedTransaction = Transaction.parse(transaction);
+        Validity validity = validators.validate(parsedTransaction);
+        if (validity == Valid && processors.handleTransaction(parsedTransaction)) {
+            addValidTransaction(parsedTransaction);
         } else {
-            transactions.get(null).add("[invalid] " + transaction);
+            invalidTransactions.add("[invalid] " + transaction);
+            validities.add(validity == Valid ? Unprocessed : validity);
         }
     }
 
-    private void addValidTransaction(String[] transactionArguments) {
-        if (transactionArguments[0].equalsIgnoreCase(Create.name())) {
-            transactions.put(transactionArguments[2], new ArrayList<>());
-        } else if (transactionArguments[0].equalsIgnoreCase(Deposit.name())
-                || transactionArguments[0].equalsIgnoreCase(Withdraw.name())) {
-            transactions.get(transactionArguments[1]).add(String.format("%s %s %.2f", transactionArguments[0], transactionArguments[1], parseDouble(transactionArguments[2])));
-        } else if (transactionArguments[0].equalsIgnoreCase(Transfer.name())) {
-            transactions.get(transactionArguments[1]).add(String.format("%s %s %s %.2f", transactionArguments[0], transactionArguments[1], transactionArguments[2], parseDouble(transactionArguments[3])));
-            transactions.get(transactionArguments[2]).add(String.format("%s %s %s %.2f", transactionArguments[0], transactionArguments[1], transactionArguments[2], parseDouble(transactionArguments[3])));
+    public void addTransactions(List<String> transactions) throws IOException {
+        for (String transaction : transactions) {
+            addTransaction(transaction);
+        }
+        if (log != null) {
+            log.commit();
+        }
+    }
+
+    public List<Validity> getValidities() {
+        return validities;
+    }
+
+    private void addValidTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == Create) {
+            transactions.put(transaction.getID(), new ArrayList<>());
+        } else if (transaction.getTransactionType() == Deposit
+                || transaction.getTransactionType() == Withdraw) {
+            transactions.get(transaction.getID()).add(transaction.toString());
+        } else if (transaction.getTransactionType() == Transfer) {
+            String output = transaction.toString();
+            transactions.get(transaction.getPayingID()).add(output);
+            transactions.get(transaction.getReceivingID()).add(output);
         }
     }
 }
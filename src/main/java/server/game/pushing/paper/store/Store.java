@@ -1,9 +1,17 @@
 package server.game.pushing.paper.store;
 
+import server.game.pushing.paper.Validity;
+
+import java.util.ArrayList;
 import java.util.List;
 
 public class Store {
     private List<String> order;
+    private List<Validity> validities;
+
+    public Store() {
+        validities = new ArrayList<>();
+    }
 
     public void setOrder(List<String> order) {
         this.order = order;
@@ -15,7 +23,12 @@ public class Store {
         for (String transaction : order) {
             receipt.addTransaction(transaction);
         }
+        validities = receipt.getValidities();
 
         return receipt.output();
     }
+
+    public List<Validity> getValidities() {
+        return validities;
+    }
 }
@@ -0,0 +1,105 @@
+package server.game.pushing.paper.store.bank;
+
+import java.util.Arrays;
+
+class AccountIndex {
+    private int[] ids;
+    private int size;
+    private final IntIndexMap positions;
+    private int indexedSize;
+
+    AccountIndex() {
+        ids = new int[16];
+        size = 0;
+        positions = new IntIndexMap();
+        indexedSize = 0;
+    }
+
+    boolean add(int id) {
+        index();
+        if (positions.get(id) != -1) {
+            return false;
+        }
+
+        positions.put(id, size);
+        append(id);
+        indexedSize = size;
+        return true;
+    }
+
+    void append(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, 2 * size);
+        }
+
+        ids[size++] = id;
+    }
+
+    private void index() {
+        if (indexedSize == size) {
+            return;
+        }
+
+        positions.ensureCapacity(size);
+        for (; indexedSize < size; indexedSize++) {
+            positions.put(ids[indexedSize], indexedSize);
+        }
+    }
+
+    int remove(int id) {
+        index();
+        int position = positions.remove(id);
+        if (position == -1) {
+            return -1;
+        }
+
+        int lastID = ids[--size];
+        if (position != size) {
+            ids[position] = lastID;
+            positions.put(lastID, position);
+        }
+        indexedSize = size;
+
+        return position;
+    }
+
+    void insert(int id, int position) {
+        if (!add(id) || position == size - 1) {
+            return;
+        }
+
+        int movedID = ids[position];
+        ids[position] = id;
+        ids[size - 1] = movedID;
+        positions.put(id, position);
+        positions.put(movedID, size - 1);
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    void clear() {
+        positions.clear();
+        size = 0;
+        indexedSize = 0;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            ids = Arrays.copyOf(ids, capacity);
+        }
+    }
+
+    int get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+
+        return ids[i];
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,98 @@
+package server.game.pushing.paper.store.bank;
+
+import java.util.Arrays;
+
+public class ArrayBank extends RecordBank {
+    private final AccountType[] accountTypeValues;
+    private int[] ids;
+    private byte[] accountTypes;
+    private long[] balances;
+    private int[] lifetimes;
+    private boolean[] isMonthlyWithdrawLimits;
+
+    public ArrayBank() {
+        this(16);
+    }
+
+    public ArrayBank(int capacity) {
+        this(capacity, 0, 0);
+    }
+
+    public ArrayBank(int capacity, int savingsAPR, int cdAPR) {
+        super(savingsAPR, cdAPR);
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("array banks should have a capacity of at least 1");
+        }
+
+        accountTypeValues = AccountType.values();
+        ids = new int[capacity];
+        accountTypes = new byte[capacity];
+        balances = new long[capacity];
+        lifetimes = new int[capacity];
+        isMonthlyWithdrawLimits = new boolean[capacity];
+    }
+
+    @Override
+    protected void ensureRecordCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+
+        int length = Math.max(capacity, 2 * ids.length);
+        ids = Arrays.copyOf(ids, length);
+        accountTypes = Arrays.copyOf(accountTypes, length);
+        balances = Arrays.copyOf(balances, length);
+        lifetimes = Arrays.copyOf(lifetimes, length);
+        isMonthlyWithdrawLimits = Arrays.copyOf(isMonthlyWithdrawLimits, length);
+    }
+
+    @Override
+    protected void setRecord(int slot, int id, AccountType accountType, long balance) {
+        ids[slot] = id;
+        accountTypes[slot] = (byte) accountType.ordinal();
+        balances[slot] = balance;
+        lifetimes[slot] = 0;
+        isMonthlyWithdrawLimits[slot] = false;
+    }
+
+    @Override
+    protected int getRecordID(int slot) {
+        return ids[slot];
+    }
+
+    @Override
+    protected AccountType getRecordType(int slot) {
+        return accountTypeValues[accountTypes[slot]];
+    }
+
+    @Override
+    protected long getRecordBalance(int slot) {
+        return balances[slot];
+    }
+
+    @Override
+    protected void setRecordBalance(int slot, long balance) {
+        balances[slot] = balance;
+    }
+
+    @Override
+    protected int getRecordLifetime(int slot) {
+        return lifetimes[slot];
+    }
+
+    @Override
+    protected void setRecordLifetime(int slot, int lifetime) {
+        lifetimes[slot] = lifetime;
+    }
+
+    @Override
+    protected boolean isRecordMonthlyWithdrawLimit(int slot) {
+        return isMonthlyWithdrawLimits[slot];
+    }
+
+    @Override
+    protected void setRecordMonthlyWithdrawLimit(int slot, boolean isMonthlyWithdrawLimit) {
+        isMonthlyWithdrawLimits[slot] = isMonthlyWithdrawLimit;
+    }
+}
@@ -1,104 +1,204 @@
 package server.game.pushing.paper.store.bank;
 
-import server.game.pushing.paper.store.bank.account.Account;
-import server.game.pushing.paper.store.bank.account.CDAccount;
-import server.game.pushing.paper.store.bank.account.CheckingAccount;
-import server.game.pushing.paper.store.bank.account.SavingsAccount;
+import server.game.pushing.paper.store.bank.account.AccountView;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.function.BiFunction;
 
-import static java.lang.Math.min;
+import static server.game.pushing.paper.store.bank.AccountType.*;
+import static server.game.pushing.paper.store.bank.Money.dollars;
 
-public class Bank {
-    private final Map<String, Account> accounts;
-
-    private final double minCDBalance;
-    private final double maxCDBalance;
+public abstract class Bank {
+    private final long minCDBalance;
+    private final long maxCDBalance;
     private final int maxTimeTravel;
+    private final int savingsAPR;
+    private final int cdAPR;
 
-    public Bank() {
-        accounts = new LinkedHashMap<>();
+    protected Bank(int savingsAPR, int cdAPR) {
+        if (savingsAPR < 0 || savingsAPR > getMaxAPR() || cdAPR < 0 || cdAPR > getMaxAPR()) {
+            throw new IllegalArgumentException(String.format("banks should use an apr between 0 and %s basis points inclusive", getMaxAPR()));
+        }
 
-        minCDBalance = 1000;
-        maxCDBalance = 10000;
+        minCDBalance = dollars(1000);
+        maxCDBalance = dollars(10000);
         maxTimeTravel = 60;
+        this.savingsAPR = savingsAPR;
+        this.cdAPR = cdAPR;
     }
 
+    public static int parseID(String id) {
+        return parseID(id, 0, id.length());
+    }
+
+    public static int parseID(String id, int start, int end) {
+        if (end - start != 8) {
+            return -1;
+        }
+
+        int parsedID = 0;
+        for (int i = start; i < end; i++) {
+            char digit = id.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+
+            parsedID = 10 * parsedID + digit - '0';
+        }
+
+        return parsedID;
+    }
+
+    public static String formatID(int id) {
+        char[] formattedID = new char[8];
+        for (int i = formattedID.length - 1; i >= 0; i--) {
+            formattedID[i] = (char) ('0' + id % 10);
+            id /= 10;
+        }
+
+        return new String(formattedID);
+    }
+
+    public abstract void createCheckingAccount(int id);
+
     public void createCheckingAccount(String id) {
-        accounts.put(id, new CheckingAccount(id));
+        createCheckingAccount(parseID(id));
     }
 
+    public abstract void createSavingsAccount(int id);
+
     public void createSavingsAccount(String id) {
-        accounts.put(id, new SavingsAccount(id));
+        createSavingsAccount(parseID(id));
+    }
+
+    public abstract void createCDAccount(int id, long balance);
+
+    public void createCDAccount(String id, long balance) {
+        createCDAccount(parseID(id), balance);
+    }
+
+    protected abstract void ensureCapacity(int capacity);
+
+    protected abstract void ensureCapacity(AccountType accountType, int capacity);
+
+    protected abstract void restoreAccount(int id, AccountType accountType, long balance, int lifetime, boolean isMonthlyWithdrawLimit);
+
+    public void writeSnapshot(Path path) throws IOException {
+        BankSnapshot.write(this, path);
+    }
+
+    public static Bank readSnapshot(Path path) throws IOException {
+        return readSnapshot(path, HeapBank::new);
     }
 
-    public void createCDAccount(String id, double balance) {
-        accounts.put(id, new CDAccount(id, balance));
+    public static <T extends Bank> T readSnapshot(Path path, BiFunction<Integer, Integer, T> bankFactory) throws IOException {
+        return BankSnapshot.read(path, bankFactory);
     }
 
     public List<String> getAccounts() {
-        return new ArrayList<>(accounts.keySet());
+        List<String> ids = new ArrayList<>();
+        for (int id : getIDs()) {
+            ids.add(formatID(id));
+        }
+
+        return ids;
     }
 
-    public Account getAccount(String id) {
-        return accounts.get(id);
+    public abstract Collection<Integer> getIDs();
+
+    public abstract AccountView getAccount(int id);
+
+    public AccountView getAccount(String id) {
+        return getAccount(parseID(id));
     }
 
     public boolean isEmpty() {
-        return accounts.isEmpty();
+        return size() == 0;
     }
 
-    public int size() {
-        return accounts.size();
-    }
+    public abstract int size();
+
+    public abstract boolean containsAccount(int id);
 
     public boolean containsAccount(String id) {
-        return accounts.containsKey(id);
+        return containsAccount(parseID(id));
     }
 
-    public double getMinBalanceFee() {
-        return 100;
+    public long getMinBalanceFee() {
+        return dollars(100);
+    }
+
+    public abstract boolean isLowBalanceAccount(int id);
+
+    protected boolean isLowBalance(long balance) {
+        return balance <= dollars(900);
     }
 
     public boolean isLowBalanceAccount(String id) {
-        return getAccount(id).getBalance() <= 900;
+        return isLowBalanceAccount(parseID(id));
     }
 
-    public void timeTravel(int months) {
-        for (Account account : new ArrayList<>(accounts.values())) {
-            if (isLowBalanceAccount(account.getID())) {
-                account.withdraw(getMinBalanceFee() * months);
-            }
+    public abstract void timeTravel(int months);
 
-            account.timeTravel(months);
-        }
+    public abstract void deposit(int id, long depositAmount);
+
+    public void deposit(String id, long depositAmount) {
+        deposit(parseID(id), depositAmount);
     }
 
-    public void deposit(String id, double depositAmount) {
-        getAccount(id).deposit(depositAmount);
+    public abstract void withdraw(int id, long withdrawAmount);
+
+    public void withdraw(String id, long withdrawAmount) {
+        withdraw(parseID(id), withdrawAmount);
     }
 
-    public void withdraw(String id, double withdrawAmount) {
-        getAccount(id).withdraw(withdrawAmount);
+    public abstract void transfer(int payingID, int receivingID, long transferAmount);
+
+    public void transfer(String payingID, String receivingID, long transferAmount) {
+        transfer(parseID(payingID), parseID(receivingID), transferAmount);
     }
 
-    public void transfer(String payingID, String receivingID, double transferAmount) {
-        Account payingAccount = getAccount(payingID);
-        Account receivingAccount = getAccount(receivingID);
-        transferAmount = min(transferAmount, payingAccount.getBalance());
+    public abstract int getID(int i);
+
+    public abstract int getID(AccountType accountType, int i);
+
+    public abstract int getWithdrawAvailableID(AccountType accountType, int i);
+
+    public abstract int countAccounts(AccountType accountType);
+
+    public abstract int countWithdrawAvailableAccounts(AccountType accountType);
+
+    public boolean isDepositFeasible() {
+        return countAccounts(Checking) + countAccounts(Savings) > 0;
+    }
+
+    public boolean isWithdrawFeasible() {
+        return countWithdrawAvailableAccounts(Checking) + countWithdrawAvailableAccounts(Savings) + countWithdrawAvailableAccounts(CD) > 0;
+    }
 
-        payingAccount.withdraw(transferAmount);
-        receivingAccount.deposit(transferAmount);
+    public boolean isTransferFeasible() {
+        int depositAccounts = countAccounts(Checking) + countAccounts(Savings);
+        return countWithdrawAvailableAccounts(Checking) + countWithdrawAvailableAccounts(Savings) > 0 && depositAccounts > 1
+                || countWithdrawAvailableAccounts(CD) > 0 && depositAccounts > 0;
+    }
+
+    public boolean isTimeTravelFeasible() {
+        return maxTimeTravel > 0;
+    }
+
+    public boolean isIDValid(int id) {
+        return id >= 0 && id <= getMaxID() && !containsAccount(id);
     }
 
     public boolean isIDValid(String id) {
-        return !containsAccount(id) && id.matches("[0-9]{8}");
+        return isIDValid(parseID(id));
     }
 
-    public boolean isCDBalanceValid(double cdBalance) {
+    public boolean isCDBalanceValid(long cdBalance) {
         return minCDBalance <= cdBalance && cdBalance <= maxCDBalance;
     }
 
@@ -106,23 +206,31 @@ public class Bank {
         return 0 < months && months <= maxTimeTravel;
     }
 
-    public boolean isDepositAmountValid(String id, double depositAmount) {
-        return containsAccount(id) && getAccount(id).isDepositAmountValid(depositAmount);
+    public abstract boolean isDepositAmountValid(int id, long depositAmount);
+
+    public boolean isDepositAmountValid(String id, long depositAmount) {
+        return isDepositAmountValid(parseID(id), depositAmount);
+    }
+
+    public abstract boolean isWithdrawAmountValid(int id, long withdrawAmount);
+
+    public boolean isWithdrawAmountValid(String id, long withdrawAmount) {
+        return isWithdrawAmountValid(parseID(id), withdrawAmount);
     }
 
-    public boolean isWithdrawAmountValid(String id, double withdrawAmount) {
-        return containsAccount(id) && getAccount(id).isWithdrawAmountValid(withdrawAmount);
+    public boolean isTransferAmountValid(int payingID, int receivingID, long transferAmount) {
+        return payingID != receivingID && isWithdrawAmountValid(payingID, transferAmount) && isDepositAmountValid(receivingID, transferAmount);
     }
 
-    public boolean isTransferAmountValid(String payingID, String receivingID, double transferAmount) {
-        return !payingID.equals(receivingID) && isWithdrawAmountValid(payingID, transferAmount) && isDepositAmountValid(receivingID, transferAmount);
+    public boolean isTransferAmountValid(String payingID, String receivingID, long transferAmount) {
+        return isTransferAmountValid(parseID(payingID), parseID(receivingID), transferAmount);
     }
 
-    public double getMinCDBalance() {
+    public long getMinCDBalance() {
         return minCDBalance;
     }
 
-    public double getMaxCDBalance() {
+    public long getMaxCDBalance() {
         return maxCDBalance;
     }
 
@@ -133,4 +241,20 @@ public class Bank {
     public int getMaxTimeTravel() {
         return maxTimeTravel;
     }
+
+    public int getSavingsAPR() {
+        return savingsAPR;
+    }
+
+    public int getCDAPR() {
+        return cdAPR;
+    }
+
+    public static int getMaxAPR() {
+        return 10000;
+    }
+
+    public static int getMaxID() {
+        return 99999999;
+    }
 }
@@ -0,0 +1,117 @@
+package server.game.pushing.paper.store.bank;
+
+import server.game.pushing.paper.store.bank.account.AccountView;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.BiFunction;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+import static server.game.pushing.paper.store.bank.AccountType.*;
+
+class BankSnapshot {
+    static void write(Bank bank, Path path) throws IOException {
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryPath, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(4096 * getRecordSize());
+            buffer.putInt(getMagic()).putInt(getVersion()).putInt(bank.getSavingsAPR()).putInt(bank.getCDAPR()).putInt(bank.size());
+            for (int id : bank.getIDs()) {
+                if (buffer.remaining() < getRecordSize()) {
+                    write(channel, buffer);
+                }
+
+                AccountView account = bank.getAccount(id);
+                buffer.putInt(id)
+                        .put((byte) account.getAccountType().ordinal())
+                        .put((byte) (account.isMonthlyWithdrawLimit() ? 1 : 0))
+                        .putInt(account.getLifetime())
+                        .putLong(account.getBalance());
+            }
+
+            write(channel, buffer);
+            channel.force(true);
+        }
+
+        Files.move(temporaryPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    static <T extends Bank> T read(Path path, BiFunction<Integer, Integer, T> bankFactory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ)) {
+            if (channel.size() < getHeaderSize()) {
+                throw new IllegalArgumentException("bank snapshots should have a header");
+            }
+
+            MappedByteBuffer snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (snapshot.getInt() != getMagic() || snapshot.getInt() != getVersion()) {
+                throw new IllegalArgumentException(String.format("bank snapshots should use version %s of the bank snapshot format", getVersion()));
+            }
+
+            T bank = bankFactory.apply(snapshot.getInt(), snapshot.getInt());
+            int size = snapshot.getInt();
+            if (size < 0 || channel.size() != getHeaderSize() + (long) size * getRecordSize()) {
+                throw new IllegalArgumentException("bank snapshots should have a record for every account");
+            }
+
+            AccountType[] accountTypes = AccountType.values();
+            int[] capacities = new int[accountTypes.length];
+            for (int i = 0; i < size; i++) {
+                byte accountType = snapshot.get(getHeaderSize() + i * getRecordSize() + Integer.BYTES);
+                if (accountType < 0 || accountType >= accountTypes.length) {
+                    throw new IllegalArgumentException("bank snapshots should have valid account records");
+                }
+
+                capacities[accountType]++;
+            }
+            bank.ensureCapacity(size);
+            for (AccountType accountType : accountTypes) {
+                bank.ensureCapacity(accountType, capacities[accountType.ordinal()]);
+            }
+            for (int i = 0; i < size; i++) {
+                int id = snapshot.getInt();
+                AccountType accountType = accountTypes[snapshot.get()];
+                byte monthlyWithdrawLimit = snapshot.get();
+                int lifetime = snapshot.getInt();
+                long balance = snapshot.getLong();
+                if (!bank.isIDValid(id) || balance < 0
+                        || monthlyWithdrawLimit < 0 || monthlyWithdrawLimit > (accountType == Savings ? 1 : 0)
+                        || lifetime != 0 && accountType != CD) {
+                    throw new IllegalArgumentException("bank snapshots should have valid account records");
+                }
+
+                bank.restoreAccount(id, accountType, balance, lifetime, monthlyWithdrawLimit == 1);
+            }
+
+            return bank;
+        }
+    }
+
+    static int getHeaderSize() {
+        return 5 * Integer.BYTES;
+    }
+
+    static int getRecordSize() {
+        return 18;
+    }
+
+    static int getMagic() {
+        return 0x50505342;
+    }
+
+    static int getVersion() {
+        return 1;
+    }
+}
@@ -0,0 +1,102 @@
+package server.game.pushing.paper.store.bank;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class BufferBank extends RecordBank {
+    private final AccountType[] accountTypeValues;
+    private ByteBuffer records;
+
+    public BufferBank() {
+        this(1024);
+    }
+
+    public BufferBank(int capacity) {
+        this(capacity, 0, 0);
+    }
+
+    public BufferBank(int capacity, int savingsAPR, int cdAPR) {
+        super(savingsAPR, cdAPR);
+
+        if (capacity < 1 || capacity > getMaxCapacity()) {
+            throw new IllegalArgumentException(String.format("buffer banks should have a capacity between 1 and %s inclusive", getMaxCapacity()));
+        }
+
+        accountTypeValues = AccountType.values();
+        records = ByteBuffer.allocateDirect(capacity * getRecordSize()).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    protected void ensureRecordCapacity(int capacity) {
+        if (capacity * (long) getRecordSize() <= records.capacity()) {
+            return;
+        }
+        if (capacity > getMaxCapacity()) {
+            throw new IllegalStateException(String.format("buffer banks should have at most %s accounts", getMaxCapacity()));
+        }
+
+        int length = (int) Math.min(getMaxCapacity(), Math.max(capacity, 2L * records.capacity() / getRecordSize()));
+        ByteBuffer previousRecords = records;
+        records = ByteBuffer.allocateDirect(length * getRecordSize()).order(ByteOrder.nativeOrder());
+        records.put(previousRecords.clear());
+        records.clear();
+    }
+
+    @Override
+    protected void setRecord(int slot, int id, AccountType accountType, long balance) {
+        int offset = slot * getRecordSize();
+        records.putInt(offset, id);
+        records.put(offset + 4, (byte) accountType.ordinal());
+        records.put(offset + 5, (byte) 0);
+        records.putLong(offset + 8, balance);
+        records.putInt(offset + 16, 0);
+    }
+
+    @Override
+    protected int getRecordID(int slot) {
+        return records.getInt(slot * getRecordSize());
+    }
+
+    @Override
+    protected AccountType getRecordType(int slot) {
+        return accountTypeValues[records.get(slot * getRecordSize() + 4)];
+    }
+
+    @Override
+    protected long getRecordBalance(int slot) {
+        return records.getLong(slot * getRecordSize() + 8);
+    }
+
+    @Override
+    protected void setRecordBalance(int slot, long balance) {
+        records.putLong(slot * getRecordSize() + 8, balance);
+    }
+
+    @Override
+    protected int getRecordLifetime(int slot) {
+        return records.getInt(slot * getRecordSize() + 16);
+    }
+
+    @Override
+    protected void setRecordLifetime(int slot, int lifetime) {
+        records.putInt(slot * getRecordSize() + 16, lifetime);
+    }
+
+    @Override
+    protected boolean isRecordMonthlyWithdrawLimit(int slot) {
+        return records.get(slot * getRecordSize() + 5) != 0;
+    }
+
+    @Override
+    protected void setRecordMonthlyWithdrawLimit(int slot, boolean isMonthlyWithdrawLimit) {
+        records.put(slot * getRecordSize() + 5, (byte) (isMonthlyWithdrawLimit ? 1 : 0));
+    }
+
+    public static int getRecordSize() {
+        return 24;
+    }
+
+    public static int getMaxCapacity() {
+        return Integer.MAX_VALUE / getRecordSize();
+    }
+}
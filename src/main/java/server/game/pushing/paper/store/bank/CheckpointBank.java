@@ -0,0 +1,21 @@
+package server.game.pushing.paper.store.bank;
+
+public class CheckpointBank extends HeapBank {
+    public CheckpointBank() {
+        super();
+    }
+
+    public CheckpointBank(int savingsAPR, int cdAPR) {
+        super(savingsAPR, cdAPR);
+    }
+
+    @Override
+    public int checkpoint() {
+        return super.checkpoint();
+    }
+
+    @Override
+    public void rollback(int checkpoint) {
+        super.rollback(checkpoint);
+    }
+}
@@ -0,0 +1,358 @@
+package server.game.pushing.paper.store.bank;
+
+import server.game.pushing.paper.store.bank.account.Account;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+public class ConcurrentBank extends HeapBank {
+    private final Lock[] stripes;
+    private final List<List<Account>> withdrawUnavailableAccounts;
+
+    public ConcurrentBank() {
+        this(64);
+    }
+
+    public ConcurrentBank(int stripes) {
+        this(stripes, 0, 0);
+    }
+
+    public ConcurrentBank(int stripes, int savingsAPR, int cdAPR) {
+        super(savingsAPR, cdAPR);
+
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("concurrent banks should have a power of 2 stripes");
+        }
+
+        this.stripes = new Lock[stripes];
+        withdrawUnavailableAccounts = new ArrayList<>();
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+            withdrawUnavailableAccounts.add(new ArrayList<>());
+        }
+    }
+
+    private int getStripe(int id) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private void lock() {
+        for (Lock stripe : stripes) {
+            stripe.lock();
+        }
+        for (List<Account> accounts : withdrawUnavailableAccounts) {
+            for (Account account : accounts) {
+                super.removeWithdrawAvailableID(account);
+            }
+            accounts.clear();
+        }
+    }
+
+    private void unlock() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    private void lock(int id) {
+        stripes[getStripe(id)].lock();
+    }
+
+    private void unlock(int id) {
+        stripes[getStripe(id)].unlock();
+    }
+
+    private void lock(int payingID, int receivingID) {
+        int payingStripe = getStripe(payingID);
+        int receivingStripe = getStripe(receivingID);
+        stripes[min(payingStripe, receivingStripe)].lock();
+        if (payingStripe != receivingStripe) {
+            stripes[max(payingStripe, receivingStripe)].lock();
+        }
+    }
+
+    private void unlock(int payingID, int receivingID) {
+        int payingStripe = getStripe(payingID);
+        int receivingStripe = getStripe(receivingID);
+        if (payingStripe != receivingStripe) {
+            stripes[max(payingStripe, receivingStripe)].unlock();
+        }
+        stripes[min(payingStripe, receivingStripe)].unlock();
+    }
+
+    @Override
+    public void createCheckingAccount(int id) {
+        lock();
+        try {
+            super.createCheckingAccount(id);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public void createSavingsAccount(int id) {
+        lock();
+        try {
+            super.createSavingsAccount(id);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public void createCDAccount(int id, long balance) {
+        lock();
+        try {
+            super.createCDAccount(id, balance);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public void writeSnapshot(Path path) throws IOException {
+        lock();
+        try {
+            super.writeSnapshot(path);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public Collection<Integer> getIDs() {
+        stripes[0].lock();
+        try {
+            return new ArrayList<>(super.getIDs());
+        } finally {
+            stripes[0].unlock();
+        }
+    }
+
+    @Override
+    public Account getAccount(int id) {
+        lock(id);
+        try {
+            return super.getAccount(id);
+        } finally {
+            unlock(id);
+        }
+    }
+
+    @Override
+    public int size() {
+        stripes[0].lock();
+        try {
+            return super.size();
+        } finally {
+            stripes[0].unlock();
+        }
+    }
+
+    @Override
+    public boolean containsAccount(int id) {
+        lock(id);
+        try {
+            return super.containsAccount(id);
+        } finally {
+            unlock(id);
+        }
+    }
+
+    @Override
+    public boolean isLowBalanceAccount(int id) {
+        lock(id);
+        try {
+            return super.isLowBalanceAccount(id);
+        } finally {
+            unlock(id);
+        }
+    }
+
+    @Override
+    public void timeTravel(int months) {
+        lock();
+        try {
+            super.timeTravel(months);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public void deposit(int id, long depositAmount) {
+        lock(id);
+        try {
+            super.deposit(id, depositAmount);
+        } finally {
+            unlock(id);
+        }
+    }
+
+    @Override
+    public void withdraw(int id, long withdrawAmount) {
+        lock(id);
+        try {
+            super.withdraw(id, withdrawAmount);
+        } finally {
+            unlock(id);
+        }
+    }
+
+    @Override
+    protected void removeWithdrawAvailableID(Account account) {
+        withdrawUnavailableAccounts.get(getStripe(account.getID())).add(account);
+    }
+
+    @Override
+    public void transfer(int payingID, int receivingID, long transferAmount) {
+        lock(payingID, receivingID);
+        try {
+            super.transfer(payingID, receivingID, transferAmount);
+        } finally {
+            unlock(payingID, receivingID);
+        }
+    }
+
+    public boolean tryDeposit(int id, long depositAmount) {
+        lock(id);
+        try {
+            if (!super.isDepositAmountValid(id, depositAmount)) {
+                return false;
+            }
+
+            super.deposit(id, depositAmount);
+            return true;
+        } finally {
+            unlock(id);
+        }
+    }
+
+    public boolean tryWithdraw(int id, long withdrawAmount) {
+        lock(id);
+        try {
+            if (!super.isWithdrawAmountValid(id, withdrawAmount)) {
+                return false;
+            }
+
+            super.withdraw(id, withdrawAmount);
+            return true;
+        } finally {
+            unlock(id);
+        }
+    }
+
+    public boolean tryTransfer(int payingID, int receivingID, long transferAmount) {
+        lock(payingID, receivingID);
+        try {
+            if (!super.isTransferAmountValid(payingID, receivingID, transferAmount)) {
+                return false;
+            }
+
+            super.transfer(payingID, receivingID, transferAmount);
+            return true;
+        } finally {
+            unlock(payingID, receivingID);
+        }
+    }
+
+    @Override
+    public int getID(int i) {
+        stripes[0].lock();
+        try {
+            return super.getID(i);
+        } finally {
+            stripes[0].unlock();
+        }
+    }
+
+    @Override
+    public int getID(AccountType accountType, int i) {
+        stripes[0].lock();
+        try {
+            return super.getID(accountType, i);
+        } finally {
+            stripes[0].unlock();
+        }
+    }
+
+    @Override
+    public int getWithdrawAvailableID(AccountType accountType, int i) {
+        lock();
+        try {
+            return super.getWithdrawAvailableID(accountType, i);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public int countAccounts(AccountType accountType) {
+        stripes[0].lock();
+        try {
+            return super.countAccounts(accountType);
+        } finally {
+            stripes[0].unlock();
+        }
+    }
+
+    @Override
+    public int countRetainedTimeTravels() {
+        lock();
+        try {
+            return super.countRetainedTimeTravels();
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public int countWithdrawAvailableAccounts(AccountType accountType) {
+        lock();
+        try {
+            return super.countWithdrawAvailableAccounts(accountType);
+        } finally {
+            unlock();
+        }
+    }
+
+    @Override
+    public boolean isDepositAmountValid(int id, long depositAmount) {
+        lock(id);
+        try {
+            return super.isDepositAmountValid(id, depositAmount);
+        } finally {
+            unlock(id);
+        }
+    }
+
+    @Override
+    public boolean isWithdrawAmountValid(int id, long withdrawAmount) {
+        lock(id);
+        try {
+            return super.isWithdrawAmountValid(id, withdrawAmount);
+        } finally {
+            unlock(id);
+        }
+    }
+
+    @Override
+    public boolean isTransferAmountValid(int payingID, int receivingID, long transferAmount) {
+        lock(payingID, receivingID);
+        try {
+            return super.isTransferAmountValid(payingID, receivingID, transferAmount);
+        } finally {
+            unlock(payingID, receivingID);
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package server.game.pushing.paper.store.bank;
+
+import server.game.pushing.paper.store.bank.account.Account;
+import server.game.pushing.paper.store.bank.account.CDAccount;
+import server.game.pushing.paper.store.bank.account.CheckingAccount;
+import server.game.pushing.paper.store.bank.account.SavingsAccount;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static java.lang.Math.min;
+import static server.game.pushing.paper.store.bank.AccountType.*;
+
+public class HeapBank extends Bank {
+    private Map<Integer, Account> accounts;
+    private final AccountIndex ids;
+    private final AccountIndex[] accountIDs;
+    private final AccountIndex[] withdrawAvailableIDs;
+    private final AccountIndex limitedSavingsIDs;
+    private final AccountIndex lowBalanceCDIDs;
+    private final PriorityQueue<Long> maturingCDs;
+
+    private int timeTravels;
+    private long months;
+    private int lastTimeTravel;
+    private int timeTravelOffset;
+    private int oldestTimeTravel;
+    private int[] timeTravelMonths;
+    private AtomicIntegerArray settledAccounts;
+
+    private Journal journal;
+
+    public HeapBank() {
+        this(0, 0);
+    }
+
+    public HeapBank(int savingsAPR, int cdAPR) {
+        super(savingsAPR, cdAPR);
+
+        accounts = new LinkedHashMap<>();
+        ids = new AccountIndex();
+        accountIDs = new AccountIndex[AccountType.values().length];
+        withdrawAvailableIDs = new AccountIndex[AccountType.values().length];
+        for (int i = 0; i < accountIDs.length; i++) {
+            accountIDs[i] = new AccountIndex();
+            withdrawAvailableIDs[i] = new AccountIndex();
+        }
+        limitedSavingsIDs = new AccountIndex();
+        lowBalanceCDIDs = new AccountIndex();
+        maturingCDs = new PriorityQueue<>();
+
+        timeTravels = 0;
+        months = 0;
+        lastTimeTravel = 0;
+        timeTravelOffset = 0;
+        oldestTimeTravel = 0;
+        timeTravelMonths = new int[16];
+        settledAccounts = new AtomicIntegerArray(17);
+
+        journal = null;
+    }
+
+    @Override
+    public void createCheckingAccount(int id) {
+        putAccount(new CheckingAccount(id));
+    }
+
+    @Override
+    public void createSavingsAccount(int id) {
+        putAccount(new SavingsAccount(id, getSavingsAPR()));
+    }
+
+    @Override
+    public void createCDAccount(int id, long balance) {
+        putAccount(new CDAccount(id, balance, getCDAPR()));
+    }
+
+    private void putAccount(Account account) {
+        account.settle(timeTravels, months);
+        countSettledAccount(account, 1);
+        Account previousAccount = accounts.put(account.getID(), account);
+        if (journal != null) {
+            journal.copy(account.getID());
+            journal.add(() -> {
+                if (previousAccount == null) {
+                    accounts.remove(account.getID());
+                } else {
+                    accounts.put(account.getID(), previousAccount);
+                }
+            });
+        }
+        if (previousAccount != null) {
+            countSettledAccount(previousAccount, -1);
+            removeID(accountIDs[previousAccount.getAccountType().ordinal()], previousAccount.getID());
+            removeID(withdrawAvailableIDs[previousAccount.getAccountType().ordinal()], previousAccount.getID());
+            removeID(limitedSavingsIDs, previousAccount.getID());
+            removeID(lowBalanceCDIDs, previousAccount.getID());
+        }
+
+        addID(ids, account.getID());
+        addID(accountIDs[account.getAccountType().ordinal()], account.getID());
+        indexWithdrawAvailability(account);
+    }
+
+    private void indexWithdrawAvailability(Account account) {
+        int id = account.getID();
+        if (account.isWithdrawAvailable()) {
+            addID(withdrawAvailableIDs[account.getAccountType().ordinal()], id);
+            if (account.getAccountType() == CD && isLowBalance(account.getBalance())) {
+                addID(lowBalanceCDIDs, id);
+            }
+        } else if (account.getAccountType() == Savings) {
+            addID(limitedSavingsIDs, id);
+        } else if (account.getAccountType() == CD) {
+            addMaturingCD(id, months + getMonthsPerYear() - ((CDAccount) account).getLifetime());
+        }
+    }
+
+    private void addMaturingCD(int id, long maturity) {
+        long maturingCD = min(maturity, Integer.MAX_VALUE) << 32 | id & 0xFFFFFFFFL;
+        maturingCDs.add(maturingCD);
+        if (journal != null) {
+            journal.add(() -> maturingCDs.remove(maturingCD));
+        }
+    }
+
+    private void countSettledAccount(Account account, int delta) {
+        if (journal == null && account.getAPR() != 0) {
+            settledAccounts.addAndGet(account.getSettledTimeTravels() - timeTravelOffset, delta);
+        }
+    }
+
+    private void addID(AccountIndex index, int id) {
+        if (index.add(id) && journal != null) {
+            journal.add(() -> index.remove(id));
+        }
+    }
+
+    private void removeID(AccountIndex index, int id) {
+        int position = index.remove(id);
+        if (position != -1 && journal != null) {
+            journal.add(() -> index.insert(id, position));
+        }
+    }
+
+    private Account writeAccount(Account account) {
+        if (journal == null || journal.isCopied(account.getID())) {
+            return account;
+        }
+
+        Account copy = account.copy();
+        accounts.put(copy.getID(), copy);
+        journal.copy(copy.getID());
+        journal.add(() -> accounts.put(account.getID(), account));
+        return copy;
+    }
+
+    private void journalTimeTravel() {
+        if (journal == null) {
+            return;
+        }
+
+        int timeTravels = this.timeTravels;
+        long months = this.months;
+        int lastTimeTravel = this.lastTimeTravel;
+        journal.add(() -> {
+            this.timeTravels = timeTravels;
+            this.months = months;
+            this.lastTimeTravel = lastTimeTravel;
+        });
+    }
+
+    protected int checkpoint() {
+        if (journal == null) {
+            journal = new Journal();
+        }
+
+        return journal.checkpoint();
+    }
+
+    protected void rollback(int checkpoint) {
+        if (journal == null) {
+            throw new IllegalArgumentException("banks should roll back to a checkpoint that has not been rolled back past");
+        }
+
+        journal.rollback(checkpoint);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        if (accounts.isEmpty()) {
+            accounts = new LinkedHashMap<>(2 * capacity);
+        }
+
+        ids.ensureCapacity(capacity);
+    }
+
+    @Override
+    protected void ensureCapacity(AccountType accountType, int capacity) {
+        accountIDs[accountType.ordinal()].ensureCapacity(capacity);
+        withdrawAvailableIDs[accountType.ordinal()].ensureCapacity(capacity);
+    }
+
+    @Override
+    protected void restoreAccount(int id, AccountType accountType, long balance, int lifetime, boolean isMonthlyWithdrawLimit) {
+        if (accountType == Checking) {
+            loadAccount(new CheckingAccount(id, balance));
+        } else if (accountType == Savings) {
+            loadAccount(new SavingsAccount(id, getSavingsAPR(), balance, isMonthlyWithdrawLimit));
+        } else {
+            loadAccount(new CDAccount(id, balance, getCDAPR(), lifetime));
+        }
+    }
+
+    private void loadAccount(Account account) {
+        int id = account.getID();
+        account.settle(timeTravels, months);
+        countSettledAccount(account, 1);
+        accounts.put(id, account);
+        ids.append(id);
+        accountIDs[account.getAccountType().ordinal()].append(id);
+        if (account.isWithdrawAvailable()) {
+            withdrawAvailableIDs[account.getAccountType().ordinal()].append(id);
+            if (account.getAccountType() == CD && isLowBalance(account.getBalance())) {
+                lowBalanceCDIDs.append(id);
+            }
+        } else if (account.getAccountType() == Savings) {
+            limitedSavingsIDs.append(id);
+        } else if (account.getAccountType() == CD) {
+            addMaturingCD(id, months + getMonthsPerYear() - ((CDAccount) account).getLifetime());
+        }
+    }
+
+    @Override
+    public Collection<Integer> getIDs() {
+        return accounts.keySet();
+    }
+
+    @Override
+    public Account getAccount(int id) {
+        return findAccount(id);
+    }
+
+    private Account findAccount(int id) {
+        Account account = accounts.get(id);
+        if (account != null) {
+            account = settle(account);
+        }
+
+        return account;
+    }
+
+    private Account settle(Account account) {
+        if (account.getSettledTimeTravels() == timeTravels) {
+            return account;
+        }
+
+        account = writeAccount(account);
+
+        if (account.getAPR() != 0) {
+            countSettledAccount(account, -1);
+            for (int i = account.getSettledTimeTravels(); i < timeTravels; i++) {
+                account.timeTravel(timeTravelMonths[i - timeTravelOffset], isLowBalance(account.getBalance()) ? getMinBalanceFee() : 0);
+            }
+            account.settle(timeTravels, months);
+            countSettledAccount(account, 1);
+            return account;
+        }
+
+        long pendingMonths = months - account.getSettledMonths();
+        if (isLowBalance(account.getBalance())) {
+            account.withdraw(getMinBalanceFee() * pendingMonths);
+            account.timeTravel(lastTimeTravel);
+        } else {
+            account.timeTravel((int) pendingMonths);
+        }
+        account.settle(timeTravels, months);
+        return account;
+    }
+
+    @Override
+    public int size() {
+        return accounts.size();
+    }
+
+    @Override
+    public boolean containsAccount(int id) {
+        return accounts.containsKey(id);
+    }
+
+    @Override
+    public boolean isLowBalanceAccount(int id) {
+        return isLowBalance(findAccount(id).getBalance());
+    }
+
+    @Override
+    public void timeTravel(int months) {
+        journalTimeTravel();
+        if (months < 0) {
+            for (Account account : accounts.values()) {
+                account = writeAccount(settle(account));
+                account.timeTravel(months, isLowBalance(account.getBalance()) ? getMinBalanceFee() : 0);
+            }
+
+            reindexWithdrawAvailability();
+            return;
+        }
+
+        for (int id : lowBalanceCDIDs.toArray()) {
+            removeID(lowBalanceCDIDs, id);
+            if (isLowBalance(accounts.get(id).getBalance())) {
+                removeID(withdrawAvailableIDs[CD.ordinal()], id);
+            }
+        }
+        addTimeTravel(months);
+        for (int id : limitedSavingsIDs.toArray()) {
+            removeID(limitedSavingsIDs, id);
+            addID(withdrawAvailableIDs[Savings.ordinal()], id);
+        }
+        while (!maturingCDs.isEmpty() && maturingCDs.peek() >>> 32 <= this.months) {
+            long maturingCD = maturingCDs.poll();
+            if (journal != null) {
+                journal.add(() -> maturingCDs.add(maturingCD));
+            }
+
+            Account account = accounts.get((int) maturingCD);
+            if (account != null && account.getAccountType() == CD) {
+                account = settle(account);
+                if (account.isWithdrawAvailable()) {
+                    indexWithdrawAvailability(account);
+                }
+            }
+        }
+    }
+
+    private void addTimeTravel(int months) {
+        int i = timeTravels - timeTravelOffset;
+        if (journal == null) {
+            while (oldestTimeTravel < timeTravels && settledAccounts.get(oldestTimeTravel - timeTravelOffset) == 0) {
+                oldestTimeTravel++;
+            }
+
+            int oldest = oldestTimeTravel - timeTravelOffset;
+            if (oldest > 0 && 2 * oldest >= i) {
+                timeTravelMonths = Arrays.copyOfRange(timeTravelMonths, oldest, oldest + timeTravelMonths.length);
+                settledAccounts = copyOfRange(settledAccounts, oldest, oldest + settledAccounts.length());
+                timeTravelOffset = oldestTimeTravel;
+                i -= oldest;
+            }
+        }
+        if (i == timeTravelMonths.length) {
+            timeTravelMonths = Arrays.copyOf(timeTravelMonths, 2 * i);
+            settledAccounts = copyOfRange(settledAccounts, 0, 2 * i + 1);
+        }
+
+        timeTravelMonths[i] = months;
+        timeTravels++;
+        this.months += months;
+        lastTimeTravel = months;
+    }
+
+    private static AtomicIntegerArray copyOfRange(AtomicIntegerArray array, int from, int to) {
+        AtomicIntegerArray copy = new AtomicIntegerArray(to - from);
+        for (int i = from; i < to && i < array.length(); i++) {
+            copy.set(i - from, array.get(i));
+        }
+
+        return copy;
+    }
+
+    private void reindexWithdrawAvailability() {
+        List<AccountIndex> indexes = new ArrayList<>(Arrays.asList(withdrawAvailableIDs));
+        indexes.add(limitedSavingsIDs);
+        indexes.add(lowBalanceCDIDs);
+        for (AccountIndex index : indexes) {
+            for (int id : index.toArray()) {
+                removeID(index, id);
+            }
+        }
+        for (long maturingCD : maturingCDs.toArray(new Long[0])) {
+            maturingCDs.remove(maturingCD);
+            if (journal != null) {
+                journal.add(() -> maturingCDs.add(maturingCD));
+            }
+        }
+
+        for (Account account : accounts.values()) {
+            indexWithdrawAvailability(settle(account));
+        }
+    }
+
+    private AccountIndex getWithdrawAvailableIDs(AccountType accountType) {
+        return withdrawAvailableIDs[accountType.ordinal()];
+    }
+
+    @Override
+    public void deposit(int id, long depositAmount) {
+        writeAccount(findAccount(id)).deposit(depositAmount);
+    }
+
+    @Override
+    public void withdraw(int id, long withdrawAmount) {
+        withdraw(writeAccount(findAccount(id)), withdrawAmount);
+    }
+
+    private void withdraw(Account account, long withdrawAmount) {
+        boolean isWithdrawAvailable = account.isWithdrawAvailable();
+        account.withdraw(withdrawAmount);
+        if (isWithdrawAvailable && !account.isWithdrawAvailable()) {
+            removeWithdrawAvailableID(account);
+        }
+    }
+
+    protected void removeWithdrawAvailableID(Account account) {
+        removeID(withdrawAvailableIDs[account.getAccountType().ordinal()], account.getID());
+        if (account.getAccountType() == Savings) {
+            addID(limitedSavingsIDs, account.getID());
+        } else if (account.getAccountType() == CD) {
+            removeID(lowBalanceCDIDs, account.getID());
+        }
+    }
+
+    @Override
+    public void transfer(int payingID, int receivingID, long transferAmount) {
+        Account payingAccount = writeAccount(findAccount(payingID));
+        Account receivingAccount = writeAccount(findAccount(receivingID));
+        transferAmount = min(transferAmount, payingAccount.getBalance());
+
+        withdraw(payingAccount, transferAmount);
+        receivingAccount.deposit(transferAmount);
+    }
+
+    @Override
+    public int getID(int i) {
+        return ids.get(i);
+    }
+
+    @Override
+    public int getID(AccountType accountType, int i) {
+        return accountIDs[accountType.ordinal()].get(i);
+    }
+
+    @Override
+    public int getWithdrawAvailableID(AccountType accountType, int i) {
+        return getWithdrawAvailableIDs(accountType).get(i);
+    }
+
+    @Override
+    public int countAccounts(AccountType accountType) {
+        return accountIDs[accountType.ordinal()].size();
+    }
+
+    public int countRetainedTimeTravels() {
+        return timeTravels - timeTravelOffset;
+    }
+
+    @Override
+    public int countWithdrawAvailableAccounts(AccountType accountType) {
+        return getWithdrawAvailableIDs(accountType).size();
+    }
+
+    @Override
+    public boolean isDepositAmountValid(int id, long depositAmount) {
+        Account account = findAccount(id);
+        return account != null && account.isDepositAmountValid(depositAmount);
+    }
+
+    @Override
+    public boolean isWithdrawAmountValid(int id, long withdrawAmount) {
+        Account account = findAccount(id);
+        return account != null && account.isWithdrawAmountValid(withdrawAmount);
+    }
+}
@@ -0,0 +1,114 @@
+package server.game.pushing.paper.store.bank;
+
+import java.util.Arrays;
+
+class IntIndexMap {
+    private int[] keys;
+    private int[] values;
+    private int size;
+
+    IntIndexMap() {
+        keys = new int[16];
+        values = new int[16];
+        Arrays.fill(keys, -1);
+        size = 0;
+    }
+
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int i = hash(key) & mask; keys[i] != -1; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+
+        return -1;
+    }
+
+    void put(int key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("int index maps should use keys greater than or equal to 0");
+        }
+        if (2 * (size + 1) > keys.length) {
+            resize(2 * keys.length);
+        }
+
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != -1 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == -1) {
+            size++;
+        }
+
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    int remove(int key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (keys[i] != key) {
+            if (keys[i] == -1) {
+                return -1;
+            }
+
+            i = (i + 1) & mask;
+        }
+
+        int value = values[i];
+        for (int j = (i + 1) & mask; keys[j] != -1; j = (j + 1) & mask) {
+            if (((j - hash(keys[j])) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = -1;
+        size--;
+
+        return value;
+    }
+
+    void clear() {
+        Arrays.fill(keys, -1);
+        size = 0;
+    }
+
+    void ensureCapacity(int capacity) {
+        if (2 * capacity > keys.length) {
+            resize(Integer.highestOneBit(2 * capacity - 1) << 1);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] previousKeys = keys;
+        int[] previousValues = values;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, -1);
+
+        int mask = capacity - 1;
+        for (int j = 0; j < previousKeys.length; j++) {
+            if (previousKeys[j] != -1) {
+                int i = hash(previousKeys[j]) & mask;
+                while (keys[i] != -1) {
+                    i = (i + 1) & mask;
+                }
+
+                keys[i] = previousKeys[j];
+                values[i] = previousValues[j];
+            }
+        }
+    }
+
+    private static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
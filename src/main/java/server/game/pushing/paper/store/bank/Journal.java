@@ -0,0 +1,50 @@
+package server.game.pushing.paper.store.bank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class Journal {
+    private final List<Runnable> undos;
+    private final IntIndexMap copies;
+    private int epoch;
+    private int epochs;
+
+    Journal() {
+        undos = new ArrayList<>();
+        copies = new IntIndexMap();
+        epoch = 0;
+        epochs = 0;
+    }
+
+    int checkpoint() {
+        epoch = ++epochs;
+        return undos.size();
+    }
+
+    void rollback(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > undos.size()) {
+            throw new IllegalArgumentException("banks should roll back to a checkpoint that has not been rolled back past");
+        }
+
+        for (int i = undos.size() - 1; i >= checkpoint; i--) {
+            undos.remove(i).run();
+        }
+        epoch = ++epochs;
+    }
+
+    void add(Runnable undo) {
+        undos.add(undo);
+    }
+
+    boolean isCopied(int id) {
+        return copies.get(id) == epoch;
+    }
+
+    void copy(int id) {
+        copies.put(id, epoch);
+    }
+
+    int size() {
+        return undos.size();
+    }
+}
@@ -0,0 +1,73 @@
+package server.game.pushing.paper.store.bank;
+
+public class Money {
+    private Money() {}
+
+    public static long dollars(long dollars) {
+        return dollars * getCentsPerDollar();
+    }
+
+    public static long parse(String amount) {
+        return parse(amount, 0, amount.length());
+    }
+
+    public static long parse(String amount, int start, int end) {
+        boolean isNegative = start < end && amount.charAt(start) == '-';
+        if (start < end && (amount.charAt(start) == '-' || amount.charAt(start) == '+')) {
+            start++;
+        }
+
+        long cents = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < end; i++) {
+            char digit = amount.charAt(i);
+            if (digit == '.' && scale == -1) {
+                scale = 0;
+                continue;
+            } else if (digit < '0' || digit > '9') {
+                return Long.MIN_VALUE;
+            } else if (scale < 2) {
+                if (cents >= Long.MAX_VALUE / 1000) {
+                    return Long.MIN_VALUE;
+                }
+
+                cents = 10 * cents + digit - '0';
+                scale += scale == -1 ? 0 : 1;
+            } else if (digit != '0') {
+                return Long.MIN_VALUE;
+            }
+
+            digits++;
+        }
+        if (digits == 0) {
+            return Long.MIN_VALUE;
+        }
+
+        cents *= scale <= 0 ? 100 : scale == 1 ? 10 : 1;
+        return isNegative ? -cents : cents;
+    }
+
+    public static String format(long cents) {
+        char[] amount = new char[21];
+        int i = amount.length;
+        long remainder = cents < 0 ? cents : -cents;
+        for (int digits = 0; digits < 3 || remainder != 0; digits++) {
+            if (digits == 2) {
+                amount[--i] = '.';
+            }
+
+            amount[--i] = (char) ('0' - remainder % 10);
+            remainder /= 10;
+        }
+        if (cents < 0) {
+            amount[--i] = '-';
+        }
+
+        return new String(amount, i, amount.length - i);
+    }
+
+    public static long getCentsPerDollar() {
+        return 100;
+    }
+}
@@ -0,0 +1,281 @@
+package server.game.pushing.paper.store.bank;
+
+import server.game.pushing.paper.store.bank.account.Account;
+import server.game.pushing.paper.store.bank.account.AccountView;
+import server.game.pushing.paper.store.bank.account.CDAccount;
+import server.game.pushing.paper.store.bank.account.CheckingAccount;
+import server.game.pushing.paper.store.bank.account.SavingsAccount;
+
+import java.util.AbstractList;
+import java.util.Collection;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static server.game.pushing.paper.store.bank.AccountType.*;
+
+public abstract class RecordBank extends Bank {
+    private final IntIndexMap slots;
+    private final SlotIndex accountSlots;
+    private final SlotIndex withdrawAvailableSlots;
+    private final Account[] prototypes;
+    private int size;
+
+    protected RecordBank() {
+        this(0, 0);
+    }
+
+    protected RecordBank(int savingsAPR, int cdAPR) {
+        super(savingsAPR, cdAPR);
+
+        slots = new IntIndexMap();
+        accountSlots = new SlotIndex();
+        withdrawAvailableSlots = new SlotIndex();
+        prototypes = new Account[AccountType.values().length];
+        prototypes[Checking.ordinal()] = new CheckingAccount(0);
+        prototypes[Savings.ordinal()] = new SavingsAccount(0, savingsAPR);
+        prototypes[CD.ordinal()] = new CDAccount(0, 0, cdAPR);
+        size = 0;
+    }
+
+    protected abstract void ensureRecordCapacity(int capacity);
+
+    protected abstract void setRecord(int slot, int id, AccountType accountType, long balance);
+
+    protected abstract int getRecordID(int slot);
+
+    protected abstract AccountType getRecordType(int slot);
+
+    protected abstract long getRecordBalance(int slot);
+
+    protected abstract void setRecordBalance(int slot, long balance);
+
+    protected abstract int getRecordLifetime(int slot);
+
+    protected abstract void setRecordLifetime(int slot, int lifetime);
+
+    protected abstract boolean isRecordMonthlyWithdrawLimit(int slot);
+
+    protected abstract void setRecordMonthlyWithdrawLimit(int slot, boolean isMonthlyWithdrawLimit);
+
+    private void createAccount(int id, AccountType accountType, long balance) {
+        createAccount(id, accountType, balance, 0, false);
+    }
+
+    private void createAccount(int id, AccountType accountType, long balance, int lifetime, boolean isMonthlyWithdrawLimit) {
+        int slot = slots.get(id);
+        if (slot == -1) {
+            slot = size;
+            ensureRecordCapacity(size + 1);
+            slots.put(id, slot);
+            size++;
+        } else {
+            accountSlots.remove(getRecordType(slot), slot);
+            withdrawAvailableSlots.remove(getRecordType(slot), slot);
+        }
+
+        setRecord(slot, id, accountType, balance);
+        setRecordLifetime(slot, lifetime);
+        setRecordMonthlyWithdrawLimit(slot, isMonthlyWithdrawLimit);
+        accountSlots.add(accountType, slot);
+        if (isRecordWithdrawAvailable(slot)) {
+            withdrawAvailableSlots.add(accountType, slot);
+        }
+    }
+
+    @Override
+    public void createCheckingAccount(int id) {
+        createAccount(id, Checking, 0);
+    }
+
+    @Override
+    public void createSavingsAccount(int id) {
+        createAccount(id, Savings, 0);
+    }
+
+    @Override
+    public void createCDAccount(int id, long balance) {
+        createAccount(id, CD, balance);
+    }
+
+    @Override
+    protected void ensureCapacity(int capacity) {
+        slots.ensureCapacity(capacity);
+        ensureRecordCapacity(capacity);
+    }
+
+    @Override
+    protected void ensureCapacity(AccountType accountType, int capacity) {
+        accountSlots.ensureCapacity(accountType, capacity);
+        withdrawAvailableSlots.ensureCapacity(accountType, capacity);
+    }
+
+    @Override
+    protected void restoreAccount(int id, AccountType accountType, long balance, int lifetime, boolean isMonthlyWithdrawLimit) {
+        createAccount(id, accountType, balance, lifetime, isMonthlyWithdrawLimit);
+    }
+
+    @Override
+    public Collection<Integer> getIDs() {
+        return new AbstractList<>() {
+            @Override
+            public Integer get(int i) {
+                return getID(i);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @Override
+    public AccountView getAccount(int id) {
+        int slot = slots.get(id);
+        return slot == -1 ? null : new RecordView(this, slot);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsAccount(int id) {
+        return slots.get(id) != -1;
+    }
+
+    @Override
+    public boolean isLowBalanceAccount(int id) {
+        return isLowBalance(getRecordBalance(slots.get(id)));
+    }
+
+    @Override
+    public void timeTravel(int months) {
+        withdrawAvailableSlots.clear();
+        for (int slot = 0; slot < size; slot++) {
+            AccountType accountType = getRecordType(slot);
+            long balance = getRecordBalance(slot);
+            if (isLowBalance(balance)) {
+                withdrawRecord(slot, balance - prototypes[accountType.ordinal()].accrue(balance, months, getMinBalanceFee()));
+            } else {
+                setRecordBalance(slot, prototypes[accountType.ordinal()].accrue(balance, months, 0));
+            }
+
+            if (accountType == Savings) {
+                setRecordMonthlyWithdrawLimit(slot, false);
+            } else if (accountType == CD) {
+                setRecordLifetime(slot, CDAccount.age(getRecordLifetime(slot), months));
+            }
+            if (isRecordWithdrawAvailable(slot)) {
+                withdrawAvailableSlots.add(accountType, slot);
+            }
+        }
+    }
+
+    @Override
+    public void deposit(int id, long depositAmount) {
+        int slot = slots.get(id);
+        long balance = getRecordBalance(slot);
+        setRecordBalance(slot, depositAmount > Long.MAX_VALUE - balance ? Long.MAX_VALUE : balance + depositAmount);
+    }
+
+    @Override
+    public void withdraw(int id, long withdrawAmount) {
+        int slot = slots.get(id);
+        boolean isWithdrawAvailable = isRecordWithdrawAvailable(slot);
+        withdrawRecord(slot, withdrawAmount);
+        if (isWithdrawAvailable && !isRecordWithdrawAvailable(slot)) {
+            withdrawAvailableSlots.remove(getRecordType(slot), slot);
+        }
+    }
+
+    private void withdrawRecord(int slot, long withdrawAmount) {
+        setRecordBalance(slot, max(0, getRecordBalance(slot) - withdrawAmount));
+        if (getRecordType(slot) == Savings) {
+            setRecordMonthlyWithdrawLimit(slot, true);
+        } else if (getRecordType(slot) == CD) {
+            setRecordLifetime(slot, Integer.MIN_VALUE);
+        }
+    }
+
+    @Override
+    public void transfer(int payingID, int receivingID, long transferAmount) {
+        transferAmount = min(transferAmount, getRecordBalance(slots.get(payingID)));
+
+        withdraw(payingID, transferAmount);
+        deposit(receivingID, transferAmount);
+    }
+
+    boolean isRecordWithdrawAvailable(int slot) {
+        AccountType accountType = getRecordType(slot);
+        if (accountType == Savings) {
+            return !isRecordMonthlyWithdrawLimit(slot);
+        } else if (accountType == CD) {
+            return getRecordLifetime(slot) >= getMonthsPerYear();
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isDepositAmountValid(int id, long depositAmount) {
+        int slot = slots.get(id);
+        return slot != -1 && isRecordDepositAmountValid(slot, depositAmount);
+    }
+
+    boolean isRecordDepositAmountValid(int slot, long depositAmount) {
+        Account prototype = getPrototype(slot);
+        return prototype.getMinDepositAmount() <= depositAmount && depositAmount <= prototype.getMaxDepositAmount();
+    }
+
+    @Override
+    public boolean isWithdrawAmountValid(int id, long withdrawAmount) {
+        int slot = slots.get(id);
+        return slot != -1 && isRecordWithdrawAmountValid(slot, withdrawAmount);
+    }
+
+    boolean isRecordWithdrawAmountValid(int slot, long withdrawAmount) {
+        if (!isRecordWithdrawAvailable(slot)) {
+            return false;
+        } else if (getRecordType(slot) == CD) {
+            return getRecordBalance(slot) <= withdrawAmount;
+        }
+
+        Account prototype = getPrototype(slot);
+        return prototype.getMinWithdrawAmount() <= withdrawAmount && withdrawAmount <= prototype.getMaxWithdrawAmount();
+    }
+
+    Account getPrototype(int slot) {
+        return prototypes[getRecordType(slot).ordinal()];
+    }
+
+    @Override
+    public int getID(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+
+        return getRecordID(i);
+    }
+
+    @Override
+    public int getID(AccountType accountType, int i) {
+        return getRecordID(accountSlots.get(accountType, i));
+    }
+
+    @Override
+    public int getWithdrawAvailableID(AccountType accountType, int i) {
+        return getRecordID(withdrawAvailableSlots.get(accountType, i));
+    }
+
+    @Override
+    public int countAccounts(AccountType accountType) {
+        return accountSlots.size(accountType);
+    }
+
+    @Override
+    public int countWithdrawAvailableAccounts(AccountType accountType) {
+        return withdrawAvailableSlots.size(accountType);
+    }
+}
@@ -0,0 +1,88 @@
+package server.game.pushing.paper.store.bank;
+
+import server.game.pushing.paper.store.bank.account.AccountView;
+
+import static server.game.pushing.paper.store.bank.AccountType.CD;
+import static server.game.pushing.paper.store.bank.AccountType.Savings;
+import static server.game.pushing.paper.store.bank.Bank.formatID;
+import static server.game.pushing.paper.store.bank.Money.format;
+
+class RecordView implements AccountView {
+    private final RecordBank bank;
+    private final int slot;
+
+    RecordView(RecordBank bank, int slot) {
+        this.bank = bank;
+        this.slot = slot;
+    }
+
+    @Override
+    public String toString() {
+        return getAccountType().name().toLowerCase() + " " + formatID(getID()) + " " + format(getBalance());
+    }
+
+    @Override
+    public AccountType getAccountType() {
+        return bank.getRecordType(slot);
+    }
+
+    @Override
+    public int getID() {
+        return bank.getRecordID(slot);
+    }
+
+    @Override
+    public long getBalance() {
+        return bank.getRecordBalance(slot);
+    }
+
+    @Override
+    public int getLifetime() {
+        return getAccountType() == CD ? bank.getRecordLifetime(slot) : 0;
+    }
+
+    @Override
+    public boolean isMonthlyWithdrawLimit() {
+        return getAccountType() == Savings && bank.isRecordMonthlyWithdrawLimit(slot);
+    }
+
+    @Override
+    public boolean isWithdrawAvailable() {
+        return bank.isRecordWithdrawAvailable(slot);
+    }
+
+    @Override
+    public boolean isDepositAmountValid(long depositAmount) {
+        return bank.isRecordDepositAmountValid(slot, depositAmount);
+    }
+
+    @Override
+    public boolean isWithdrawAmountValid(long withdrawAmount) {
+        return bank.isRecordWithdrawAmountValid(slot, withdrawAmount);
+    }
+
+    @Override
+    public long getMinDepositAmount() {
+        return bank.getPrototype(slot).getMinDepositAmount();
+    }
+
+    @Override
+    public long getMaxDepositAmount() {
+        return bank.getPrototype(slot).getMaxDepositAmount();
+    }
+
+    @Override
+    public long getMinWithdrawAmount() {
+        return getAccountType() == CD ? getBalance() : bank.getPrototype(slot).getMinWithdrawAmount();
+    }
+
+    @Override
+    public long getMaxWithdrawAmount() {
+        return bank.getPrototype(slot).getMaxWithdrawAmount();
+    }
+
+    @Override
+    public int getAPR() {
+        return bank.getPrototype(slot).getAPR();
+    }
+}
@@ -0,0 +1,77 @@
+package server.game.pushing.paper.store.bank;
+
+import java.util.Arrays;
+
+class SlotIndex {
+    private final int[][] slots;
+    private final int[] sizes;
+    private int[] positions;
+
+    SlotIndex() {
+        slots = new int[AccountType.values().length][16];
+        sizes = new int[AccountType.values().length];
+        positions = new int[16];
+        Arrays.fill(positions, -1);
+    }
+
+    void add(AccountType accountType, int slot) {
+        if (slot >= positions.length) {
+            int length = positions.length;
+            positions = Arrays.copyOf(positions, Math.max(2 * length, slot + 1));
+            Arrays.fill(positions, length, positions.length, -1);
+        }
+        if (positions[slot] != -1) {
+            return;
+        }
+
+        int type = accountType.ordinal();
+        if (sizes[type] == slots[type].length) {
+            slots[type] = Arrays.copyOf(slots[type], 2 * sizes[type]);
+        }
+
+        positions[slot] = sizes[type];
+        slots[type][sizes[type]++] = slot;
+    }
+
+    void remove(AccountType accountType, int slot) {
+        if (slot >= positions.length || positions[slot] == -1) {
+            return;
+        }
+
+        int type = accountType.ordinal();
+        int position = positions[slot];
+        int lastSlot = slots[type][--sizes[type]];
+        slots[type][position] = lastSlot;
+        positions[lastSlot] = position;
+        positions[slot] = -1;
+    }
+
+    void clear() {
+        for (int type = 0; type < slots.length; type++) {
+            for (int i = 0; i < sizes[type]; i++) {
+                positions[slots[type][i]] = -1;
+            }
+
+            sizes[type] = 0;
+        }
+    }
+
+    void ensureCapacity(AccountType accountType, int capacity) {
+        int type = accountType.ordinal();
+        if (capacity > slots[type].length) {
+            slots[type] = Arrays.copyOf(slots[type], capacity);
+        }
+    }
+
+    int get(AccountType accountType, int i) {
+        if (i < 0 || i >= size(accountType)) {
+            throw new IndexOutOfBoundsException(i);
+        }
+
+        return slots[accountType.ordinal()][i];
+    }
+
+    int size(AccountType accountType) {
+        return sizes[accountType.ordinal()];
+    }
+}
@@ -3,62 +3,126 @@ package server.game.pushing.paper.store.bank.account;
 import server.game.pushing.paper.store.bank.AccountType;
 
 import static java.lang.Math.max;
+import static server.game.pushing.paper.store.bank.Bank.formatID;
+import static server.game.pushing.paper.store.bank.Money.format;
 
-public abstract class Account {
+public abstract class Account implements AccountView {
     protected AccountType accountType;
-    protected final String id;
-    protected double balance;
+    protected final int id;
+    protected long balance;
 
-    protected double minDepositAmount;
-    protected double maxDepositAmount;
-    protected double minWithdrawAmount;
-    protected double maxWithdrawAmount;
+    protected long minDepositAmount;
+    protected long maxDepositAmount;
+    protected long minWithdrawAmount;
+    protected long maxWithdrawAmount;
+    protected int apr;
 
-    protected Account(AccountType accountType, String id, double balance) {
+    private int settledTimeTravels;
+    private long settledMonths;
+
+    protected Account(AccountType accountType, int id, long balance) {
         this.accountType = accountType;
         this.id = id;
         this.balance = balance;
 
         minDepositAmount = 0;
         minWithdrawAmount = 0;
+        apr = 0;
     }
 
     @Override
     public String toString() {
-        return String.format("%s %s %.2f", accountType, id, balance).toLowerCase();
+        return accountType.name().toLowerCase() + " " + formatID(id) + " " + format(balance);
     }
 
     public AccountType getAccountType() {
         return accountType;
     }
 
-    public String getID() {
+    public int getID() {
         return id;
     }
 
-    public double getBalance() {
+    public long getBalance() {
         return balance;
     }
 
+    public int getLifetime() {
+        return 0;
+    }
+
+    public boolean isMonthlyWithdrawLimit() {
+        return false;
+    }
+
     public void timeTravel(int months) {}
 
-    public void deposit(double depositAmount) {
-        this.balance += depositAmount;
+    public void timeTravel(int months, long minBalanceFee) {
+        if (minBalanceFee == 0) {
+            balance = accrue(balance, months, 0);
+        } else {
+            withdraw(balance - accrue(balance, months, minBalanceFee));
+        }
+
+        timeTravel(months);
+    }
+
+    public long accrue(long balance, int months, long minBalanceFee) {
+        if (apr == 0 || months <= 0) {
+            return max(0, balance - minBalanceFee * months);
+        }
+
+        double monthlyRate = apr / 10000.0 / 12;
+        double growth = Math.pow(1 + monthlyRate, months);
+        return max(0, Math.round(balance * growth - minBalanceFee * (1 + monthlyRate) * (growth - 1) / monthlyRate));
+    }
+
+    public void settle(int timeTravels, long months) {
+        settledTimeTravels = timeTravels;
+        settledMonths = months;
+    }
+
+    public int getSettledTimeTravels() {
+        return settledTimeTravels;
     }
 
-    public void withdraw(double withdrawAmount) {
+    public long getSettledMonths() {
+        return settledMonths;
+    }
+
+    public void deposit(long depositAmount) {
+        this.balance = depositAmount > Long.MAX_VALUE - balance ? Long.MAX_VALUE : balance + depositAmount;
+    }
+
+    public void withdraw(long withdrawAmount) {
         this.balance = max(0, this.balance - withdrawAmount);
     }
 
-    public abstract boolean isDepositAmountValid(double depositAmount);
+    public abstract Account copy();
+
+    public abstract boolean isWithdrawAvailable();
+
+    public abstract boolean isDepositAmountValid(long depositAmount);
 
-    public abstract boolean isWithdrawAmountValid(double withdrawAmount);
+    public abstract boolean isWithdrawAmountValid(long withdrawAmount);
 
-    public double getMaxDepositAmount() {
+    public long getMinDepositAmount() {
+        return minDepositAmount + 1;
+    }
+
+    public long getMaxDepositAmount() {
         return maxDepositAmount;
     }
 
-    public double getMaxWithdrawAmount() {
+    public long getMinWithdrawAmount() {
+        return minWithdrawAmount + 1;
+    }
+
+    public long getMaxWithdrawAmount() {
         return maxWithdrawAmount;
     }
+
+    public int getAPR() {
+        return apr;
+    }
 }
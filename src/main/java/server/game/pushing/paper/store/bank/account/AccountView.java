@@ -0,0 +1,31 @@
+package server.game.pushing.paper.store.bank.account;
+
+import server.game.pushing.paper.store.bank.AccountType;
+
+public interface AccountView {
+    AccountType getAccountType();
+
+    int getID();
+
+    long getBalance();
+
+    int getLifetime();
+
+    boolean isMonthlyWithdrawLimit();
+
+    boolean isWithdrawAvailable();
+
+    boolean isDepositAmountValid(long depositAmount);
+
+    boolean isWithdrawAmountValid(long withdrawAmount);
+
+    long getMinDepositAmount();
+
+    long getMaxDepositAmount();
+
+    long getMinWithdrawAmount();
+
+    long getMaxWithdrawAmount();
+
+    int getAPR();
+}
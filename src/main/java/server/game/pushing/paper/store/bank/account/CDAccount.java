@@ -2,37 +2,74 @@ package server.game.pushing.paper.store.bank.account;
 
 import server.game.pushing.paper.store.bank.AccountType;
 
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static server.game.pushing.paper.store.bank.Bank.getMonthsPerYear;
 
 public class CDAccount extends Account {
     private int lifetime;
 
-    public CDAccount(String id, double balance) {
+    public CDAccount(int id, long balance) {
+        this(id, balance, 0);
+    }
+
+    public CDAccount(int id, long balance, int apr) {
+        this(id, balance, apr, 0);
+    }
+
+    public CDAccount(int id, long balance, int apr, int lifetime) {
         super(AccountType.CD, id, balance);
 
-        lifetime = 0;
-        maxWithdrawAmount = Double.POSITIVE_INFINITY;
+        this.lifetime = lifetime;
+        maxWithdrawAmount = Long.MAX_VALUE;
+        this.apr = apr;
     }
 
     @Override
     public void timeTravel(int months) {
-        lifetime += months;
+        lifetime = age(lifetime, months);
+    }
+
+    public static int age(int lifetime, int months) {
+        return (int) max(Integer.MIN_VALUE, min(Integer.MAX_VALUE, (long) lifetime + months));
     }
 
     @Override
-    public void withdraw(double withdrawAmount) {
+    public void withdraw(long withdrawAmount) {
         super.withdraw(withdrawAmount);
 
         lifetime = Integer.MIN_VALUE;
     }
 
     @Override
-    public boolean isDepositAmountValid(double depositAmount) {
+    public int getLifetime() {
+        return lifetime;
+    }
+
+    @Override
+    public long getMinWithdrawAmount() {
+        return balance;
+    }
+
+    @Override
+    public Account copy() {
+        CDAccount account = new CDAccount(id, balance, apr, lifetime);
+        account.settle(getSettledTimeTravels(), getSettledMonths());
+        return account;
+    }
+
+    @Override
+    public boolean isWithdrawAvailable() {
+        return lifetime >= getMonthsPerYear();
+    }
+
+    @Override
+    public boolean isDepositAmountValid(long depositAmount) {
         return false;
     }
 
     @Override
-    public boolean isWithdrawAmountValid(double withdrawAmount) {
-        return lifetime >= getMonthsPerYear() && this.balance <= withdrawAmount;
+    public boolean isWithdrawAmountValid(long withdrawAmount) {
+        return isWithdrawAvailable() && this.balance <= withdrawAmount;
     }
 }
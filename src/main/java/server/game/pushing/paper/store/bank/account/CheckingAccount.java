@@ -2,21 +2,39 @@ package server.game.pushing.paper.store.bank.account;
 
 import server.game.pushing.paper.store.bank.AccountType;
 
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
 public class CheckingAccount extends Account {
-    public CheckingAccount(String id) {
-        super(AccountType.Checking, id, 0);
+    public CheckingAccount(int id) {
+        this(id, 0);
+    }
+
+    public CheckingAccount(int id, long balance) {
+        super(AccountType.Checking, id, balance);
+
+        maxDepositAmount = dollars(1000);
+        maxWithdrawAmount = dollars(400);
+    }
 
-        maxDepositAmount = 1000;
-        maxWithdrawAmount = 400;
+    @Override
+    public Account copy() {
+        CheckingAccount account = new CheckingAccount(id, balance);
+        account.settle(getSettledTimeTravels(), getSettledMonths());
+        return account;
+    }
+
+    @Override
+    public boolean isWithdrawAvailable() {
+        return true;
     }
 
     @Override
-    public boolean isDepositAmountValid(double depositAmount) {
+    public boolean isDepositAmountValid(long depositAmount) {
         return minDepositAmount < depositAmount && depositAmount <= maxDepositAmount;
     }
 
     @Override
-    public boolean isWithdrawAmountValid(double withdrawAmount) {
+    public boolean isWithdrawAmountValid(long withdrawAmount) {
         return minWithdrawAmount < withdrawAmount && withdrawAmount <= maxWithdrawAmount;
     }
 }
@@ -2,15 +2,26 @@ package server.game.pushing.paper.store.bank.account;
 
 import server.game.pushing.paper.store.bank.AccountType;
 
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
 public class SavingsAccount extends Account {
     private boolean isMonthlyWithdrawLimit;
 
-    public SavingsAccount(String id) {
-        super(AccountType.Savings, id, 0);
+    public SavingsAccount(int id) {
+        this(id, 0);
+    }
 
-        isMonthlyWithdrawLimit = false;
-        maxDepositAmount = 2500;
-        maxWithdrawAmount = 1000;
+    public SavingsAccount(int id, int apr) {
+        this(id, apr, 0, false);
+    }
+
+    public SavingsAccount(int id, int apr, long balance, boolean isMonthlyWithdrawLimit) {
+        super(AccountType.Savings, id, balance);
+
+        this.isMonthlyWithdrawLimit = isMonthlyWithdrawLimit;
+        maxDepositAmount = dollars(2500);
+        maxWithdrawAmount = dollars(1000);
+        this.apr = apr;
     }
 
     @Override
@@ -19,18 +30,35 @@ public class SavingsAccount extends Account {
     }
 
     @Override
-    public void withdraw(double withdrawAmount) {
+    public void withdraw(long withdrawAmount) {
         super.withdraw(withdrawAmount);
         isMonthlyWithdrawLimit = true;
     }
 
     @Override
-    public boolean isDepositAmountValid(double depositAmount) {
+    public boolean isMonthlyWithdrawLimit() {
+        return isMonthlyWithdrawLimit;
+    }
+
+    @Override
+    public Account copy() {
+        SavingsAccount account = new SavingsAccount(id, apr, balance, isMonthlyWithdrawLimit);
+        account.settle(getSettledTimeTravels(), getSettledMonths());
+        return account;
+    }
+
+    @Override
+    public boolean isWithdrawAvailable() {
+        return !isMonthlyWithdrawLimit;
+    }
+
+    @Override
+    public boolean isDepositAmountValid(long depositAmount) {
         return minDepositAmount < depositAmount && depositAmount <= maxDepositAmount;
     }
 
     @Override
-    public boolean isWithdrawAmountValid(double withdrawAmount) {
-        return !isMonthlyWithdrawLimit && minWithdrawAmount < withdrawAmount && withdrawAmount <= maxWithdrawAmount;
+    public boolean isWithdrawAmountValid(long withdrawAmount) {
+        return isWithdrawAvailable() && minWithdrawAmount < withdrawAmount && withdrawAmount <= maxWithdrawAmount;
     }
 }
@@ -14,33 +14,47 @@ public class ChainOfResponsibility {
         this.bank = bank;
     }
 
-    private void connect(List<Handler> handler) {
+    private Handler connect(List<Handler> handler) {
         for (int i = 0; i < handler.size() - 1; i++) {
             handler.get(i).setNext(handler.get(i + 1));
         }
+
+        return handler.get(0);
     }
 
-    public Handler getValidators() {
-        List<Handler> validators = Arrays.asList(
+    private List<Handler> createValidators() {
+        return Arrays.asList(
                 new CreateValidator(bank),
                 new TimeTravelValidator(bank),
                 new DepositValidator(bank),
                 new WithdrawValidator(bank),
                 new TransferValidator(bank)
         );
-        connect(validators);
-        return validators.get(0);
     }
 
-    public Handler getProcessors() {
-        List<Handler> processors = Arrays.asList(
+    private List<Handler> createProcessors() {
+        return Arrays.asList(
                 new CreateProcessor(bank),
                 new TimeTravelProcessor(bank),
                 new DepositProcessor(bank),
                 new WithdrawProcessor(bank),
                 new TransferProcessor(bank)
         );
-        connect(processors);
-        return processors.get(0);
+    }
+
+    public Handler getValidators() {
+        return connect(createValidators());
+    }
+
+    public Handler getProcessors() {
+        return connect(createProcessors());
+    }
+
+    public ValidatorDispatcher getValidatorDispatcher() {
+        return new ValidatorDispatcher(bank, createValidators());
+    }
+
+    public Handler getProcessorDispatcher() {
+        return new Dispatcher(bank, createProcessors());
     }
 }
@@ -0,0 +1,33 @@
+package server.game.pushing.paper.store.handler;
+
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.TransactionType;
+import server.game.pushing.paper.store.bank.Bank;
+
+import java.util.List;
+
+public class Dispatcher extends Handler {
+    private final Handler[] handlers;
+
+    public Dispatcher(Bank bank, List<Handler> handlers) {
+        super(bank);
+        this.handlers = new Handler[TransactionType.values().length];
+        for (Handler handler : handlers) {
+            this.handlers[handler.getTransactionType().ordinal()] = handler;
+        }
+    }
+
+    protected Handler getHandler(TransactionType transactionType) {
+        return transactionType == null ? null : handlers[transactionType.ordinal()];
+    }
+
+    @Override
+    public boolean handleTransaction(Transaction transaction) {
+        Handler handler = getHandler(transaction.getTransactionType());
+        if (handler != null && handler.handleTransaction(transaction)) {
+            return true;
+        }
+
+        return next != null && next.handleTransaction(transaction);
+    }
+}
@@ -1,5 +1,6 @@
 package server.game.pushing.paper.store.handler;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.TransactionType;
 import server.game.pushing.paper.store.bank.Bank;
 
@@ -21,8 +22,8 @@ public abstract class Handler {
     }
 
     public boolean handleTransaction(String transaction) {
-        return handleTransaction(transaction.split(" "));
+        return handleTransaction(Transaction.parse(transaction));
     }
 
-    public abstract boolean handleTransaction(String[] transactionArguments);
+    public abstract boolean handleTransaction(Transaction transaction);
 }
@@ -1,9 +1,9 @@
 package server.game.pushing.paper.store.handler.processor;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
 import server.game.pushing.paper.store.handler.Handler;
 
-import static java.lang.Double.parseDouble;
 import static server.game.pushing.paper.TransactionType.Create;
 import static server.game.pushing.paper.store.bank.AccountType.*;
 
@@ -14,38 +14,38 @@ public class CreateProcessor extends Handler {
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        if (handleCheckingTransaction(transactionArguments)
-                || handleSavingsTransaction(transactionArguments)
-                || handleCDTransaction(transactionArguments)
+    public boolean handleTransaction(Transaction transaction) {
+        if (handleCheckingTransaction(transaction)
+                || handleSavingsTransaction(transaction)
+                || handleCDTransaction(transaction)
         ) {
             return true;
         }
 
-        return next != null && next.handleTransaction(transactionArguments);
+        return next != null && next.handleTransaction(transaction);
     }
 
-    private boolean handleCheckingTransaction(String[] transactionArguments) {
-        if (transactionArguments[0].equalsIgnoreCase(transactionType.name()) && transactionArguments[1].equalsIgnoreCase(Checking.name())) {
-            bank.createCheckingAccount(transactionArguments[2]);
+    private boolean handleCheckingTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType && transaction.getAccountType() == Checking) {
+            bank.createCheckingAccount(transaction.getID());
             return true;
         }
 
         return false;
     }
 
-    private boolean handleSavingsTransaction(String[] transactionArguments) {
-        if (transactionArguments[0].equalsIgnoreCase(transactionType.name()) && transactionArguments[1].equalsIgnoreCase(Savings.name())) {
-            bank.createSavingsAccount(transactionArguments[2]);
+    private boolean handleSavingsTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType && transaction.getAccountType() == Savings) {
+            bank.createSavingsAccount(transaction.getID());
             return true;
         }
 
         return false;
     }
 
-    private boolean handleCDTransaction(String[] transactionArguments) {
-        if (transactionArguments[0].equalsIgnoreCase(transactionType.name()) && transactionArguments[1].equalsIgnoreCase(CD.name())) {
-            bank.createCDAccount(transactionArguments[2], parseDouble(transactionArguments[3]));
+    private boolean handleCDTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType && transaction.getAccountType() == CD) {
+            bank.createCDAccount(transaction.getID(), transaction.getAmount());
             return true;
         }
 
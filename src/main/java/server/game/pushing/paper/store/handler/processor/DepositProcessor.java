@@ -1,5 +1,6 @@
 package server.game.pushing.paper.store.handler.processor;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
 import server.game.pushing.paper.store.handler.Handler;
 
@@ -12,12 +13,12 @@ public class DepositProcessor extends Handler {
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        if (transactionArguments[0].equalsIgnoreCase(transactionType.name())) {
-            bank.deposit(transactionArguments[1], Double.parseDouble(transactionArguments[2]));
+    public boolean handleTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType) {
+            bank.deposit(transaction.getID(), transaction.getAmount());
             return true;
         }
 
-        return next != null && next.handleTransaction(transactionArguments);
+        return next != null && next.handleTransaction(transaction);
     }
 }
@@ -1,9 +1,9 @@
 package server.game.pushing.paper.store.handler.processor;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
 import server.game.pushing.paper.store.handler.Handler;
 
-import static java.lang.Integer.parseInt;
 import static server.game.pushing.paper.TransactionType.TimeTravel;
 
 public class TimeTravelProcessor extends Handler {
@@ -13,12 +13,12 @@ public class TimeTravelProcessor extends Handler {
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        if ((transactionArguments[0] + transactionArguments[1]).equalsIgnoreCase(transactionType.name())) {
-            bank.timeTravel(parseInt(transactionArguments[2]));
+    public boolean handleTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType) {
+            bank.timeTravel(transaction.getMonths());
             return true;
         }
 
-        return next != null && next.handleTransaction(transactionArguments);
+        return next != null && next.handleTransaction(transaction);
     }
 }
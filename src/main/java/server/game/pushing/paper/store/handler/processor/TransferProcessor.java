@@ -1,9 +1,9 @@
 package server.game.pushing.paper.store.handler.processor;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
 import server.game.pushing.paper.store.handler.Handler;
 
-import static java.lang.Double.parseDouble;
 import static server.game.pushing.paper.TransactionType.Transfer;
 
 public class TransferProcessor extends Handler {
@@ -13,12 +13,12 @@ public class TransferProcessor extends Handler {
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        if (transactionArguments[0].equalsIgnoreCase(transactionType.name())) {
-            bank.transfer(transactionArguments[1], transactionArguments[2], parseDouble(transactionArguments[3]));
+    public boolean handleTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType) {
+            bank.transfer(transaction.getPayingID(), transaction.getReceivingID(), transaction.getAmount());
             return true;
         }
 
-        return next != null && next.handleTransaction(transactionArguments);
+        return next != null && next.handleTransaction(transaction);
     }
 }
@@ -1,9 +1,9 @@
 package server.game.pushing.paper.store.handler.processor;
 
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
 import server.game.pushing.paper.store.handler.Handler;
 
-import static java.lang.Double.parseDouble;
 import static server.game.pushing.paper.TransactionType.Withdraw;
 
 public class WithdrawProcessor extends Handler {
@@ -13,12 +13,12 @@ public class WithdrawProcessor extends Handler {
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        if (transactionArguments[0].equalsIgnoreCase(transactionType.name())) {
-            bank.withdraw(transactionArguments[1], parseDouble(transactionArguments[2]));
+    public boolean handleTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType) {
+            bank.withdraw(transaction.getID(), transaction.getAmount());
             return true;
         }
 
-        return next != null && next.handleTransaction(transactionArguments);
+        return next != null && next.handleTransaction(transaction);
     }
 }
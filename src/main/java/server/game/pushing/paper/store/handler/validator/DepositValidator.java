@@ -1,30 +1,26 @@
 package server.game.pushing.paper.store.handler.validator;
 
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.Validity;
 import server.game.pushing.paper.store.bank.Bank;
-import server.game.pushing.paper.store.handler.Handler;
 
-import static java.lang.Double.parseDouble;
 import static server.game.pushing.paper.TransactionType.Deposit;
+import static server.game.pushing.paper.Validity.*;
 
-public class DepositValidator extends Handler {
+public class DepositValidator extends Validator {
     public DepositValidator(Bank bank) {
         super(bank);
         transactionType = Deposit;
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        try {
-            if (transactionArguments[0].equalsIgnoreCase(transactionType.name()) && bank.isDepositAmountValid(
-                    transactionArguments[1],
-                    parseDouble(transactionArguments[2])
-            )) {
-                return true;
-            } else {
-                return next != null && next.handleTransaction(transactionArguments);
-            }
-        } catch (ArrayIndexOutOfBoundsException | NumberFormatException exception) {
-            return false;
+    public Validity validate(Transaction transaction) {
+        if (!bank.containsAccount(transaction.getID())) {
+            return UnknownAccount;
+        } else if (!bank.isDepositAmountValid(transaction.getID(), transaction.getAmount())) {
+            return InvalidDepositAmount;
         }
+
+        return Valid;
     }
 }
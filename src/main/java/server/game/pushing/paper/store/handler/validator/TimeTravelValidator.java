@@ -1,29 +1,21 @@
 package server.game.pushing.paper.store.handler.validator;
 
-import server.game.pushing.paper.TransactionType;
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.Validity;
 import server.game.pushing.paper.store.bank.Bank;
-import server.game.pushing.paper.store.handler.Handler;
 
-import static java.lang.Integer.parseInt;
+import static server.game.pushing.paper.TransactionType.TimeTravel;
+import static server.game.pushing.paper.Validity.InvalidTimeTravel;
+import static server.game.pushing.paper.Validity.Valid;
 
-public class TimeTravelValidator extends Handler {
+public class TimeTravelValidator extends Validator {
     public TimeTravelValidator(Bank bank) {
         super(bank);
-        transactionType = TransactionType.TimeTravel;
+        transactionType = TimeTravel;
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        try {
-            if ((transactionArguments[0] + transactionArguments[1]).equalsIgnoreCase(transactionType.name()) && bank.isTimeTravelValid(
-                    parseInt(transactionArguments[2])
-            )) {
-                return true;
-            } else {
-                return next != null && next.handleTransaction(transactionArguments);
-            }
-        } catch (ArrayIndexOutOfBoundsException | NumberFormatException exception) {
-            return false;
-        }
+    public Validity validate(Transaction transaction) {
+        return bank.isTimeTravelValid(transaction.getMonths()) ? Valid : InvalidTimeTravel;
     }
 }
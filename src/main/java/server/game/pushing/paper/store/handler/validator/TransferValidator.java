@@ -1,31 +1,30 @@
 package server.game.pushing.paper.store.handler.validator;
 
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.Validity;
 import server.game.pushing.paper.store.bank.Bank;
-import server.game.pushing.paper.store.handler.Handler;
 
-import static java.lang.Double.parseDouble;
 import static server.game.pushing.paper.TransactionType.Transfer;
+import static server.game.pushing.paper.Validity.*;
 
-public class TransferValidator extends Handler {
+public class TransferValidator extends Validator {
     public TransferValidator(Bank bank) {
         super(bank);
         transactionType = Transfer;
     }
 
     @Override
-    public boolean handleTransaction(String[] transactionArguments) {
-        try {
-            if (transactionArguments[0].equalsIgnoreCase(transactionType.name()) && bank.isTransferAmountValid(
-                    transactionArguments[1],
-                    transactionArguments[2],
-                    parseDouble(transactionArguments[3])
-            )) {
-                return true;
-            } else {
-                return next != null && next.handleTransaction(transactionArguments);
-            }
-        } catch (ArrayIndexOutOfBoundsException | NumberFormatException exception) {
-            return false;
+    public Validity validate(Transaction transaction) {
+        if (transaction.getPayingID() == transaction.getReceivingID()) {
+            return SameAccount;
+        } else if (!bank.containsAccount(transaction.getPayingID()) || !bank.containsAccount(transaction.getReceivingID())) {
+            return UnknownAccount;
+        } else if (!bank.isWithdrawAmountValid(transaction.getPayingID(), transaction.getAmount())) {
+            return InvalidWithdrawAmount;
+        } else if (!bank.isDepositAmountValid(transaction.getReceivingID(), transaction.getAmount())) {
+            return InvalidDepositAmount;
         }
+
+        return Valid;
     }
 }
@@ -0,0 +1,25 @@
+package server.game.pushing.paper.store.handler.validator;
+
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.Validity;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.handler.Handler;
+
+import static server.game.pushing.paper.Validity.Valid;
+
+public abstract class Validator extends Handler {
+    public Validator(Bank bank) {
+        super(bank);
+    }
+
+    @Override
+    public boolean handleTransaction(Transaction transaction) {
+        if (transaction.getTransactionType() == transactionType && validate(transaction) == Valid) {
+            return true;
+        }
+
+        return next != null && next.handleTransaction(transaction);
+    }
+
+    public abstract Validity validate(Transaction transaction);
+}
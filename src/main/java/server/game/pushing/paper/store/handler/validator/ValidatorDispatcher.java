@@ -0,0 +1,27 @@
+package server.game.pushing.paper.store.handler.validator;
+
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.Validity;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.handler.Dispatcher;
+import server.game.pushing.paper.store.handler.Handler;
+
+import java.util.List;
+
+import static server.game.pushing.paper.Validity.UnknownTransactionType;
+import static server.game.pushing.paper.Validity.Valid;
+
+public class ValidatorDispatcher extends Dispatcher {
+    public ValidatorDispatcher(Bank bank, List<Handler> validators) {
+        super(bank, validators);
+    }
+
+    public Validity validate(Transaction transaction) {
+        if (transaction.getValidity() != Valid) {
+            return transaction.getValidity();
+        }
+
+        Handler validator = getHandler(transaction.getTransactionType());
+        return validator instanceof Validator ? ((Validator) validator).validate(transaction) : UnknownTransactionType;
+    }
+}
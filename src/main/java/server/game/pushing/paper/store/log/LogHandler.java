@@ -0,0 +1,36 @@
+package server.game.pushing.paper.store.log;
+
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.handler.Handler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+public class LogHandler extends Handler {
+    private final Handler processors;
+    private final TransactionLog log;
+
+    public LogHandler(Bank bank, Handler processors, TransactionLog log) {
+        super(bank);
+        this.processors = processors;
+        this.log = log;
+    }
+
+    @Override
+    public boolean handleTransaction(Transaction transaction) {
+        boolean isProcessed;
+        synchronized (this) {
+            isProcessed = processors.handleTransaction(transaction);
+            if (isProcessed) {
+                try {
+                    log.append(transaction);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }
+        }
+
+        return isProcessed || next != null && next.handleTransaction(transaction);
+    }
+}
@@ -0,0 +1,254 @@
+package server.game.pushing.paper.store.log;
+
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.TransactionType;
+import server.game.pushing.paper.store.bank.AccountType;
+import server.game.pushing.paper.store.handler.Handler;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.*;
+import static server.game.pushing.paper.TransactionType.*;
+
+public class TransactionLog implements Closeable {
+    private final FileChannel channel;
+    private final int groupSize;
+    private final Object commitLock;
+    private final CRC32C crc;
+    private ByteBuffer records;
+    private ByteBuffer spareRecords;
+    private long appended;
+    private long committed;
+
+    public TransactionLog(Path path) throws IOException {
+        this(path, getDefaultGroupSize());
+    }
+
+    public TransactionLog(Path path, int groupSize) throws IOException {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("transaction logs should commit groups of at least 1 transaction");
+        }
+
+        channel = FileChannel.open(path, CREATE, READ, WRITE);
+        this.groupSize = groupSize;
+        commitLock = new Object();
+        crc = new CRC32C();
+        records = ByteBuffer.allocateDirect(groupSize * getRecordSize());
+        spareRecords = ByteBuffer.allocateDirect(groupSize * getRecordSize());
+        appended = 0;
+        committed = 0;
+
+        try {
+            open();
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    private void open() throws IOException {
+        if (channel.size() < getHeaderSize()) {
+            channel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(getHeaderSize()).putInt(getMagic()).putInt(getVersion()).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(getHeaderSize());
+        while (header.hasRemaining() && channel.read(header, header.position()) != -1) {
+        }
+        if (header.flip().getInt() != getMagic() || header.getInt() != getVersion()) {
+            throw new IllegalArgumentException(String.format("transaction logs should start with version %s of the transaction log header", getVersion()));
+        }
+
+        long end = read(null);
+        if (end < channel.size()) {
+            channel.truncate(end);
+            channel.force(true);
+        }
+        channel.position(end);
+    }
+
+    public long replay(Handler processors) throws IOException {
+        return replay(processors::handleTransaction);
+    }
+
+    public long replay(Consumer<Transaction> consumer) throws IOException {
+        long[] transactions = new long[1];
+        read(transaction -> {
+            consumer.accept(transaction);
+            transactions[0]++;
+        });
+
+        return transactions[0];
+    }
+
+    private long read(Consumer<Transaction> consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096 * getRecordSize());
+        CRC32C crc = new CRC32C();
+        long position = getHeaderSize();
+        long end = channel.size();
+        while (position < end) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+            int size = 0;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + size);
+                if (read == -1) {
+                    break;
+                }
+                size += read;
+            }
+
+            buffer.flip();
+            while (buffer.remaining() >= getRecordSize()) {
+                int record = buffer.position();
+                int checksum = buffer.getInt();
+                crc.reset();
+                crc.update(buffer.limit(record + getRecordSize()));
+                buffer.limit(size);
+                if ((int) crc.getValue() != checksum) {
+                    return position + record;
+                }
+                if (consumer != null) {
+                    consumer.accept(decode(buffer.position(record + Integer.BYTES)));
+                }
+
+                buffer.position(record + getRecordSize());
+            }
+            if (size < getRecordSize()) {
+                return position;
+            }
+
+            position += buffer.position();
+        }
+
+        return position;
+    }
+
+    private Transaction decode(ByteBuffer record) {
+        TransactionType transactionType = TransactionType.values()[record.get()];
+        byte accountType = record.get();
+        int id = record.getInt();
+        int receivingID = record.getInt();
+        long amount = record.getLong();
+        int months = record.getInt();
+
+        if (transactionType == Create) {
+            return Transaction.create(AccountType.values()[accountType], id, amount);
+        } else if (transactionType == TimeTravel) {
+            return Transaction.timeTravel(months);
+        } else if (transactionType == Deposit) {
+            return Transaction.deposit(id, amount);
+        } else if (transactionType == Withdraw) {
+            return Transaction.withdraw(id, amount);
+        }
+
+        return Transaction.transfer(id, receivingID, amount);
+    }
+
+    public long append(Transaction transaction) throws IOException {
+        long sequence;
+        boolean isGroupFull;
+        synchronized (this) {
+            if (records.remaining() < getRecordSize()) {
+                records = ByteBuffer.allocateDirect(2 * records.capacity()).put(records.flip());
+            }
+
+            int record = records.position();
+            records.position(record + Integer.BYTES);
+            records.put((byte) transaction.getTransactionType().ordinal());
+            records.put((byte) (transaction.getAccountType() == null ? -1 : transaction.getAccountType().ordinal()));
+            records.putInt(transaction.getID());
+            records.putInt(transaction.getReceivingID());
+            records.putLong(transaction.getAmount());
+            records.putInt(transaction.getMonths());
+
+            crc.reset();
+            crc.update(records.duplicate().position(record + Integer.BYTES).limit(record + getRecordSize()));
+            records.putInt(record, (int) crc.getValue());
+            sequence = ++appended;
+            isGroupFull = sequence - committed >= groupSize;
+        }
+
+        if (isGroupFull) {
+            commit(sequence);
+        }
+
+        return sequence;
+    }
+
+    public void commit() throws IOException {
+        commit(getAppended());
+    }
+
+    public void commit(long sequence) throws IOException {
+        synchronized (commitLock) {
+            ByteBuffer group;
+            long appended;
+            synchronized (this) {
+                if (committed >= sequence) {
+                    return;
+                }
+
+                group = records.flip();
+                records = spareRecords;
+                appended = this.appended;
+            }
+
+            while (group.hasRemaining()) {
+                channel.write(group);
+            }
+            channel.force(false);
+
+            synchronized (this) {
+                spareRecords = group.clear();
+                committed = appended;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            commit();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public synchronized long getAppended() {
+        return appended;
+    }
+
+    public synchronized long getCommitted() {
+        return committed;
+    }
+
+    public static int getDefaultGroupSize() {
+        return 256;
+    }
+
+    public static int getHeaderSize() {
+        return 2 * Integer.BYTES;
+    }
+
+    public static int getRecordSize() {
+        return 26;
+    }
+
+    public static int getMagic() {
+        return 0x50505754;
+    }
+
+    public static int getVersion() {
+        return 1;
+    }
+}
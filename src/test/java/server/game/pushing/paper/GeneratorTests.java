@@ -5,12 +5,20 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import server.game.pushing.paper.generator.DepositGenerator;
+import server.game.pushing.paper.generator.GenerationBudget;
 import server.game.pushing.paper.generator.OrderGenerator;
+import server.game.pushing.paper.generator.OrderTarget;
+import server.game.pushing.paper.generator.TimeTravelGenerator;
 import server.game.pushing.paper.generator.TransferGenerator;
 import server.game.pushing.paper.generator.WithdrawGenerator;
 import server.game.pushing.paper.store.Store;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
+import server.game.pushing.paper.store.handler.ChainOfResponsibility;
+import server.game.pushing.paper.store.handler.Handler;
 
+import java.time.Duration;
+import java.util.EnumSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Random;
@@ -19,6 +27,8 @@ import static java.lang.Math.min;
 import static org.junit.jupiter.api.Assertions.*;
 import static server.game.pushing.paper.TransactionType.*;
 import static server.game.pushing.paper.store.bank.AccountType.Checking;
+import static server.game.pushing.paper.store.bank.Bank.getMonthsPerYear;
+import static server.game.pushing.paper.store.bank.Money.dollars;
 
 public class GeneratorTests {
     private Logger logger;
@@ -83,7 +93,7 @@ public class GeneratorTests {
     @Test
     protected void the_first_2_transactions_are_create_checking_transactions() {
         int size = 2;
-        Bank bank = new Bank() {{ createSavingsAccount("98430842"); createSavingsAccount("98439843"); }};
+        Bank bank = new HeapBank() {{ createSavingsAccount("98430842"); createSavingsAccount("98439843"); }};
         OrderGenerator orderGenerator = new OrderGenerator();
         for (int i = 0; i < 99; i++) {
             List<String> order = orderGenerator.generateOrder(random, size);
@@ -120,4 +130,81 @@ public class GeneratorTests {
             }
         }
     }
+
+    @Test
+    protected void generators_sample_valid_transactions_directly_and_count_rejections() {
+        Bank bank = new HeapBank();
+        bank.createCheckingAccount(0);
+        bank.createCheckingAccount(1);
+        bank.createSavingsAccount(2);
+        bank.createCDAccount(3, dollars(5000));
+        bank.withdraw(2, dollars(100));
+        TimeTravelGenerator timeTravelGenerator = new TimeTravelGenerator(random, bank);
+        WithdrawGenerator withdrawGenerator = new WithdrawGenerator(random, bank);
+        TransferGenerator transferGenerator = new TransferGenerator(random, bank);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(timeTravelGenerator.generateTransaction().getMonths() > 0);
+            assertTrue(withdrawGenerator.generateTransaction().getID() < 2);
+        }
+        assertEquals(0, timeTravelGenerator.getRejections());
+        assertEquals(0, withdrawGenerator.getRejections());
+
+        bank.timeTravel(getMonthsPerYear());
+        for (int i = 0; i < 100; i++) {
+            Transaction withdraw = withdrawGenerator.generateTransaction();
+            Transaction transfer = transferGenerator.generateTransaction();
+
+            assertTrue(withdraw.getID() != 3 || withdraw.getAmount() == dollars(5000));
+            assertNotEquals(3, transfer.getPayingID());
+        }
+        assertEquals(0, withdrawGenerator.getRejections());
+        assertTrue(transferGenerator.getRejections() > 0);
+    }
+
+    @Test
+    protected void generators_stop_at_their_deadline_and_order_generators_fall_back_to_feasible_types() {
+        Bank bank = new HeapBank();
+        bank.createCheckingAccount(0);
+        bank.createCheckingAccount(1);
+        TransferGenerator transferGenerator = new TransferGenerator(random, bank, new GenerationBudget(1, Duration.ofSeconds(-1)));
+
+        assertThrows(IllegalArgumentException.class, () -> new GenerationBudget(0, Duration.ofSeconds(1)));
+        assertThrows(IllegalStateException.class, transferGenerator::generateTransaction);
+        assertThrows(IllegalStateException.class, () -> new OrderGenerator(1, Duration.ofSeconds(-1)).generateOrder(random, 6));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(isOrderValid(new OrderGenerator(1, Duration.ofSeconds(1)).generateOrder(random, 200)));
+        }
+    }
+
+    @Test
+    protected void order_generators_meet_declarative_targets_with_a_bounded_backtracking_search() {
+        EnumSet<OrderTarget> targets = EnumSet.allOf(OrderTarget.class);
+        OrderGenerator orderGenerator = new OrderGenerator();
+
+        for (int size = 7; size < 100; size += 3) {
+            List<String> order = orderGenerator.generateOrder(random, size, targets);
+            Bank bank = new HeapBank();
+            Handler processors = (new ChainOfResponsibility(bank)).getProcessorDispatcher();
+            EnumSet<OrderTarget> metTargets = EnumSet.noneOf(OrderTarget.class);
+            for (String line : order) {
+                Transaction transaction = Transaction.parse(line);
+                for (OrderTarget target : targets) {
+                    if (target.isMetBy(bank, transaction)) {
+                        metTargets.add(target);
+                    }
+                }
+
+                processors.handleTransaction(transaction);
+            }
+
+            assertEquals(size, order.size());
+            assertTrue(isOrderValid(order));
+            assertEquals(targets, metTargets);
+        }
+
+        long seed = random.nextLong();
+        assertEquals(orderGenerator.generateOrder(new Random(seed), 50), orderGenerator.generateOrder(new Random(seed), 50, EnumSet.noneOf(OrderTarget.class)));
+        assertThrows(IllegalStateException.class, () -> orderGenerator.generateOrder(random, 4, targets));
+    }
 }
@@ -1,23 +1,38 @@
 package server.game.pushing.paper;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.RequestBuilder;
+import server.game.pushing.paper.level.Difficulty;
+import server.game.pushing.paper.level.DifficultyPools;
 import server.game.pushing.paper.level.Level;
+import server.game.pushing.paper.level.LevelCache;
 import server.game.pushing.paper.level.LevelController;
+import server.game.pushing.paper.level.LevelID;
+import server.game.pushing.paper.level.LevelPool;
 import server.game.pushing.paper.level.Mutation;
+import server.game.pushing.paper.level.RingBuffer;
+import server.game.pushing.paper.level.Verification;
 import server.game.pushing.paper.store.Store;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static java.lang.Double.parseDouble;
+import static java.lang.Integer.parseInt;
 import static java.lang.String.valueOf;
 import static java.util.Collections.swap;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static server.game.pushing.paper.level.Mutation.Move;
 import static server.game.pushing.paper.level.Mutation.Typo;
@@ -29,18 +44,36 @@ public class LevelTests {
     private MockMvc mockMvc;
 
     @Test
-    protected void a_get_level_request_contains_a_random_order_of_size_6_its_receipt_and_transformation() throws Exception {
+    protected void a_get_level_request_contains_a_random_order_of_size_6_and_its_receipt() throws Exception {
         for (int i = 0; i < 100; i++) {
             RequestBuilder requestBuilder = get("/");
             String level = mockMvc.perform(requestBuilder).andReturn().getResponse().getContentAsString();
 
             assertTrue(level.contains("order"));
             assertTrue(level.contains("receipt"));
-            assertTrue(level.contains("transformation"));
             mockMvc.perform(requestBuilder).andExpect(status().isOk());
         }
     }
 
+    @Test
+    protected void level_responses_hide_the_transformation_that_the_server_verifies() throws Exception {
+        List<String> contents = new ArrayList<>();
+        contents.add(mockMvc.perform(get("/")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        contents.add(mockMvc.perform(get("/").param("seed", "8")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        contents.add(mockMvc.perform(get("/").param("orderSize", "20").param("typos", "2")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        MvcResult result = mockMvc.perform(get("/levels").param("count", "3")).andReturn();
+        contents.addAll(List.of(mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString().split("\n")));
+
+        for (String content : contents) {
+            JsonNode level = new ObjectMapper().readTree(content);
+
+            assertTrue(level.has("id"));
+            assertTrue(level.has("order"));
+            assertTrue(level.has("receipt"));
+            assertFalse(level.has("transformation"));
+        }
+    }
+
     @Test
     protected void a_transformation_has_2_locations_of_receipt_mutations() {
         for (int i = 0; i < 100; i++) {
@@ -105,4 +138,290 @@ public class LevelTests {
             assertEquals(actual, expected);
         }
     }
+
+    @Test
+    protected void levels_place_configurable_counts_of_typos_and_moves_on_distinct_lines_of_large_receipts() {
+        for (long seed = 0; seed < 10; seed++) {
+            LevelID id = new LevelID(seed, new Difficulty(LevelID.getMaxSize(), 100, 50));
+            Level level = new Level(id);
+            List<String> actual = level.receipt;
+            List<String> transformation = level.transformation;
+            List<String> expected = (new Store() {{ setOrder(level.order); }}).getReceipt();
+            assertEquals(actual, new Level(id).receipt);
+
+            int typos = 0;
+            int moves = 0;
+            for (int j = 0; j < transformation.size(); j++) {
+                if (transformation.get(j).equals(Move.name().toLowerCase())) {
+                    assertEquals(valueOf(j - 1), transformation.get(j - 1));
+                    swap(actual, j, j - 1);
+                    moves++;
+                } else if (transformation.get(j).equals(Typo.name().toLowerCase())) {
+                    assertNotEquals(expected.get(j), actual.get(j));
+                    assertEquals(expected.get(j).split(" ").length, actual.get(j).split(" ").length);
+                    actual.set(j, expected.get(j));
+                    typos++;
+                }
+            }
+
+            assertEquals(100, typos);
+            assertEquals(50, moves);
+            assertEquals(expected, actual);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new Difficulty(6, -1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Difficulty(6, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Difficulty(LevelID.getMaxSize() + 1, 1, 1));
+    }
+
+    @Test
+    protected void levels_regenerate_orders_whose_receipts_cannot_hold_their_typos_and_moves() {
+        for (long seed = 0; seed < 3000; seed++) {
+            LevelID id = new LevelID(seed, new Difficulty(6, 3, 0));
+            Level level = new Level(id);
+
+            assertEquals(3, Collections.frequency(level.transformation, Typo.name().toLowerCase()));
+            assertEquals(level.receipt, new Level(id).receipt);
+            Level pooledLevel = new Level(new LevelID(seed, new Difficulty(6, 0, 0)));
+            if (pooledLevel.canHold(id.getDifficulty())) {
+                assertEquals(level.transformation, new Level(pooledLevel, id.getDifficulty()).transformation);
+            } else {
+                assertThrows(IllegalArgumentException.class, () -> new Level(pooledLevel, id.getDifficulty()));
+            }
+        }
+    }
+
+    @Test
+    protected void a_ring_buffer_is_a_bounded_first_in_first_out_queue() {
+        RingBuffer<Integer> ringBuffer = new RingBuffer<>(3);
+
+        assertEquals(4, ringBuffer.capacity());
+        assertNull(ringBuffer.poll());
+        for (int i = 0; i < ringBuffer.capacity(); i++) {
+            assertTrue(ringBuffer.offer(i));
+        }
+        assertFalse(ringBuffer.offer(ringBuffer.capacity()));
+        assertEquals(ringBuffer.capacity(), ringBuffer.size());
+        for (int i = 0; i < ringBuffer.capacity(); i++) {
+            assertEquals(i, ringBuffer.poll());
+        }
+        assertNull(ringBuffer.poll());
+        assertEquals(0, ringBuffer.size());
+    }
+
+    @Test
+    protected void a_level_pool_serves_pre_generated_levels_and_falls_back_to_inline_generation() throws InterruptedException {
+        LevelPool emptyLevelPool = new LevelPool(4, 0, Level::new);
+        assertNotNull(emptyLevelPool.poll());
+        assertEquals(0, emptyLevelPool.getStatistics().hits);
+        assertEquals(1, emptyLevelPool.getStatistics().misses);
+        long rejections = 0;
+        for (long seed = 0; seed < 200; seed++) {
+            rejections += new Level(new LevelID(seed, 30)).rejections;
+        }
+        assertTrue(rejections > 0);
+        LevelPool rejectingLevelPool = new LevelPool(4, 0, () -> {
+            Level level = new Level();
+            level.rejections = 3;
+            return level;
+        });
+        rejectingLevelPool.poll();
+        rejectingLevelPool.poll();
+        assertEquals(6, rejectingLevelPool.getStatistics().rejections);
+
+        LevelPool levelPool = new LevelPool(4, 2, Level::new);
+        while (levelPool.size() < 4) {
+            Thread.sleep(10);
+        }
+        assertNotNull(levelPool.poll());
+        assertEquals(1, levelPool.getStatistics().hits);
+        assertEquals(0, levelPool.getStatistics().misses);
+        assertTrue(levelPool.getStatistics().refills >= 4);
+        assertTrue(levelPool.getStatistics().maxRefillMillis >= levelPool.getStatistics().averageRefillMillis);
+        levelPool.shutdown();
+    }
+
+    @Test
+    protected void a_seed_reproduces_a_byte_identical_level() throws Exception {
+        for (long seed = 0; seed < 20; seed++) {
+            Level expected = new Level(seed);
+            Level actual = new Level(seed);
+            RequestBuilder requestBuilder = get("/").param("seed", valueOf(seed));
+
+            assertEquals(expected.order, actual.order);
+            assertEquals(expected.receipt, actual.receipt);
+            assertEquals(expected.transformation, actual.transformation);
+            assertEquals(
+                    mockMvc.perform(requestBuilder).andReturn().getResponse().getContentAsString(),
+                    mockMvc.perform(requestBuilder).andReturn().getResponse().getContentAsString()
+            );
+        }
+    }
+
+    @Test
+    protected void a_level_cache_generates_each_seed_once_and_evicts_the_least_recently_used_seed() {
+        List<Long> generations = new ArrayList<>();
+        LevelCache<Long> levelCache = new LevelCache<>(2, seed -> {
+            generations.add(seed);
+            return new Level(seed);
+        });
+
+        Level level = levelCache.get(0L);
+        assertSame(level, levelCache.get(0L));
+        levelCache.get(1L);
+        levelCache.get(0L);
+        levelCache.get(2L);
+        levelCache.get(0L);
+        levelCache.get(1L);
+
+        assertEquals(2, levelCache.size());
+        assertEquals(List.of(0L, 1L, 2L, 1L), generations);
+    }
+
+    @Test
+    protected void a_level_id_contains_a_mutation_version_order_size_and_seed_that_any_server_can_regenerate() throws Exception {
+        Level expected = new Level(-8L);
+        LevelID id = LevelID.parse(expected.id);
+        Level actual = new Level(id);
+
+        assertEquals(LevelID.getMutationVersion(), id.getVersion());
+        assertEquals(LevelID.getDefaultSize(), id.getSize());
+        assertEquals(-8L, id.getSeed());
+        assertEquals(expected.id, actual.id);
+        assertEquals(expected.order, actual.order);
+        assertEquals(expected.receipt, actual.receipt);
+        assertEquals(expected.transformation, actual.transformation);
+        assertEquals(12, new Level(new LevelID(3L, 12)).order.size());
+
+        assertThrows(IllegalArgumentException.class, () -> LevelID.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> LevelID.parse("the-power-of-friendship"));
+        assertThrows(IllegalArgumentException.class, () -> LevelID.parse("0-6-1"));
+        assertThrows(IllegalArgumentException.class, () -> LevelID.parse("1-1-1"));
+        assertThrows(IllegalArgumentException.class, () -> LevelID.parse(String.format("1-%s-1", LevelID.getMaxSize() + 1)));
+        assertEquals(
+                mockMvc.perform(get("/").param("seed", "-8")).andReturn().getResponse().getContentAsString(),
+                mockMvc.perform(get("/").param("id", expected.id)).andReturn().getResponse().getContentAsString()
+        );
+        mockMvc.perform(get("/").param("id", "tree")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    protected void a_get_levels_request_streams_a_capped_count_of_levels_as_newline_delimited_json() throws Exception {
+        MvcResult result = mockMvc.perform(get("/levels").param("count", "5")).andReturn();
+        String[] levels = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString().split("\n");
+
+        assertEquals(5, levels.length);
+        for (String level : levels) {
+            assertTrue(level.startsWith("{"));
+            assertTrue(level.contains("order"));
+            assertTrue(level.contains("receipt"));
+            assertFalse(level.contains("transformation"));
+        }
+
+        result = mockMvc.perform(get("/levels").param("count", "1000")).andReturn();
+        levels = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(100, levels.length);
+
+        mockMvc.perform(get("/levels").param("count", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    protected void a_get_level_request_with_an_order_size_typos_and_moves_serves_harder_levels_within_ceilings() throws Exception {
+        for (String orderSize : List.of("20", "300", "500")) {
+            String content = mockMvc.perform(get("/").param("orderSize", orderSize).param("typos", "4").param("moves", "3")).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+            JsonNode level = new ObjectMapper().readTree(content);
+            String id = level.get("id").asText();
+            List<String> transformation = new Level(LevelID.parse(id)).transformation;
+
+            assertEquals(parseInt(orderSize), level.get("order").size());
+            assertEquals(4, Collections.frequency(transformation, Typo.name().toLowerCase()));
+            assertEquals(3, Collections.frequency(transformation, Move.name().toLowerCase()));
+            assertTrue(id.endsWith("-4-3"));
+            assertFalse(level.has("transformation"));
+            assertEquals(content, mockMvc.perform(get("/").param("id", id)).andReturn().getResponse().getContentAsString());
+        }
+
+        mockMvc.perform(get("/").param("orderSize", "6")).andExpect(status().isOk());
+        mockMvc.perform(get("/").param("orderSize", valueOf(LevelID.getMaxSize() + 1))).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/").param("orderSize", "20").param("typos", "9").param("moves", "1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/").param("typos", "-1")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/").param("id", LevelID.getMutationVersion() + "-20-1-4")).andExpect(status().isBadRequest());
+        assertEquals(
+                mockMvc.perform(get("/").param("seed", "8").param("orderSize", "20").param("moves", "2")).andReturn().getResponse().getContentAsString(),
+                mockMvc.perform(get("/").param("id", new LevelID(8, new Difficulty(20, 1, 2)).toString())).andReturn().getResponse().getContentAsString()
+        );
+
+        DifficultyPools difficultyPools = new DifficultyPools(new int[] { 200, 200 }, 1, 1);
+        Level level = difficultyPools.poll(new Difficulty(200, 4, 3));
+        while (level == null) {
+            Thread.sleep(10);
+            level = difficultyPools.poll(new Difficulty(200, 4, 3));
+        }
+        LevelID id = LevelID.parse(level.id);
+
+        assertEquals(200, level.order.size());
+        assertEquals(new Difficulty(200, 4, 3), id.getDifficulty());
+        assertEquals(new Level(id).transformation, level.transformation);
+        assertNull(difficultyPools.poll(new Difficulty(201, 4, 3)));
+        assertEquals(1, difficultyPools.size());
+        difficultyPools.shutdown();
+        assertThrows(IllegalArgumentException.class, () -> new DifficultyPools(new int[] { 2 }, 1, 1));
+    }
+
+    @Test
+    protected void level_controllers_bound_uncached_levels_above_the_inline_order_size_and_cache_pooled_ones() {
+        LevelController levelController = new LevelController(1, 0, 16, 1, new int[] { 500 }, 1, 0, 100, 1, new ObjectMapper());
+        try {
+            Level level = levelController.getLevel(null, null, 500, 4, 3).getBody();
+            Verification verification = new Verification();
+            verification.id = level.id;
+            verification.transformation = level.transformation;
+
+            assertEquals(500, level.order.size());
+            assertSame(level, levelController.getLevel(null, level.id, null, null, null).getBody());
+            for (boolean line : levelController.verify(verification).getBody()) {
+                assertTrue(line);
+            }
+        } finally {
+            levelController.shutdown();
+        }
+
+        LevelController saturatedLevelController = new LevelController(1, 0, 16, 1, new int[] { 500 }, 1, 0, 100, 0, new ObjectMapper());
+        try {
+            Verification verification = new Verification();
+            verification.transformation = List.of();
+
+            assertThrows(IllegalStateException.class, () -> saturatedLevelController.getLevel(null, null, 500, 4, 3));
+            assertThrows(IllegalStateException.class, () -> saturatedLevelController.getLevel(null, null, 101, 4, 3));
+            assertEquals(100, saturatedLevelController.getLevel(7L, null, 100, null, null).getBody().order.size());
+            assertThrows(IllegalStateException.class, () -> saturatedLevelController.getLevel(7L, null, 101, null, null));
+            assertThrows(IllegalStateException.class, () -> saturatedLevelController.getLevel(null, new LevelID(7, new Difficulty(LevelID.getMaxSize(), 1, 1)).toString(), null, null, null));
+            verification.id = new LevelID(7, LevelID.getMaxSize()).toString();
+            assertThrows(IllegalStateException.class, () -> saturatedLevelController.verify(verification));
+        } finally {
+            saturatedLevelController.shutdown();
+        }
+    }
+
+    @Test
+    protected void a_verify_request_returns_the_correctness_of_each_line_of_a_transformation() throws Exception {
+        Level level = new Level(98L);
+        List<String> transformation = new ArrayList<>(level.transformation);
+        transformation.set(0, "move".equals(transformation.get(0)) ? "typo" : "move");
+        transformation.remove(transformation.size() - 1);
+
+        boolean[] verification = level.verify(transformation);
+        assertEquals(level.transformation.size(), verification.length);
+        assertFalse(verification[0]);
+        for (int i = 1; i < verification.length - 1; i++) {
+            assertTrue(verification[i]);
+        }
+        assertFalse(verification[verification.length - 1]);
+
+        String expected = String.format("[false%s,false]", ",true".repeat(verification.length - 2));
+        String content = String.format("{\"id\":\"%s\",\"transformation\":[\"%s\"]}", level.id, String.join("\",\"", transformation));
+        assertEquals(expected, mockMvc.perform(post("/verify").contentType(MediaType.APPLICATION_JSON).content(content)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString());
+        mockMvc.perform(post("/verify").contentType(MediaType.APPLICATION_JSON).content("{\"id\":\"tree\",\"transformation\":[]}")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/verify").contentType(MediaType.APPLICATION_JSON).content("{}")).andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,53 @@
+package server.game.pushing.paper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static server.game.pushing.paper.TransactionType.*;
+import static server.game.pushing.paper.store.bank.AccountType.CD;
+import static server.game.pushing.paper.store.bank.AccountType.Savings;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+public class TransactionTests {
+    @Test
+    protected void a_transaction_is_parsed_once_into_a_type_account_type_ids_amount_and_months() {
+        Transaction create = Transaction.parse("CREATE cd 00000042 1500.5 the power of friendship");
+        Transaction timeTravel = Transaction.parse("time TRAVEL 12");
+        Transaction transfer = Transaction.parse("transfer 12345678 87654321 300");
+
+        assertEquals(Create, create.getTransactionType());
+        assertEquals(CD, create.getAccountType());
+        assertEquals(42, create.getID());
+        assertEquals(150050, create.getAmount());
+        assertEquals(TimeTravel, timeTravel.getTransactionType());
+        assertEquals(12, timeTravel.getMonths());
+        assertEquals(Transfer, transfer.getTransactionType());
+        assertEquals(12345678, transfer.getPayingID());
+        assertEquals(87654321, transfer.getReceivingID());
+        assertEquals(dollars(300), transfer.getAmount());
+    }
+
+    @Test
+    protected void malformed_transactions_are_parsed_without_a_type_and_invalid_ids_are_negative() {
+        assertNull(Transaction.parse("").getTransactionType());
+        assertNull(Transaction.parse("the power of friendship").getTransactionType());
+        assertNull(Transaction.parse("deposit 12345678").getTransactionType());
+        assertNull(Transaction.parse("deposit 12345678 love").getTransactionType());
+        assertNull(Transaction.parse("time travel months").getTransactionType());
+        assertNull(Transaction.parse("create cd 12345678").getTransactionType());
+        assertEquals(-1, Transaction.parse("deposit 1234567 100").getID());
+        assertEquals(-1, Transaction.parse("withdraw tree 100").getID());
+        assertNull(Transaction.parse("create love 12345678").getAccountType());
+    }
+
+    @Test
+    protected void transactions_output_themselves_in_lowercase_with_8_digit_ids_and_2_decimal_amounts() {
+        assertEquals("create savings 00000007", Transaction.create(Savings, 7, 0).toString());
+        assertEquals("create cd 00000008 1000.00", Transaction.create(CD, 8, dollars(1000)).toString());
+        assertEquals("time travel 3", Transaction.timeTravel(3).toString());
+        assertEquals("deposit 00000007 100.00", Transaction.deposit(7, dollars(100)).toString());
+        assertEquals("withdraw 00000007 100.50", Transaction.withdraw(7, 10050).toString());
+        assertEquals("transfer 00000007 00000008 100.00", Transaction.transfer(7, 8, dollars(100)).toString());
+        assertEquals("transfer 00000007 00000008 100.00", Transaction.parse("TRANSFER 00000007 00000008 100 extra").toString());
+    }
+}
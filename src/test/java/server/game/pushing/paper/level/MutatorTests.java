@@ -0,0 +1,51 @@
+package server.game.pushing.paper.level;
+
+import org.junit.jupiter.api.Test;
+import server.game.pushing.paper.store.Store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.String.valueOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static server.game.pushing.paper.level.Mutation.Move;
+import static server.game.pushing.paper.level.Mutation.Typo;
+
+public class MutatorTests {
+    @Test
+    protected void mutators_keep_lines_that_cannot_start_a_move_available_for_typos() {
+        for (long seed = 0; seed < 200; seed++) {
+            List<String> receipt = new ArrayList<>(Arrays.asList("deposit 00000000 100", "withdraw 00000000 100", "time travel 1"));
+            List<String> transformation = new ArrayList<>();
+            for (int i = 0; i < receipt.size(); i++) {
+                transformation.add(valueOf(i));
+            }
+
+            (new Mutator(new Random(seed), receipt, transformation)).mutate(1, 1);
+
+            assertEquals(1, transformation.stream().filter(Move.name().toLowerCase()::equals).count());
+            assertEquals(1, transformation.stream().filter(Typo.name().toLowerCase()::equals).count());
+        }
+    }
+
+    @Test
+    protected void mutators_bound_typos_and_moves_by_the_non_blank_lines_of_time_travel_heavy_receipts() {
+        List<String> order = List.of("create checking 00000000", "time travel 1", "deposit 00000000 100", "time travel 2", "time travel 3", "time travel 4");
+        List<String> receipt = (new Store() {{ setOrder(order); }}).getReceipt();
+        List<String> transformation = new ArrayList<>();
+        for (int i = 0; i < receipt.size(); i++) {
+            transformation.add(valueOf(i));
+        }
+
+        assertEquals(3, receipt.size());
+        assertEquals(1, Mutator.getMaxMoves(receipt));
+        assertEquals(2, Mutator.getMaxTypos(receipt, 0));
+        assertEquals(0, Mutator.getMaxTypos(receipt, 1));
+        assertThrows(IllegalStateException.class, () -> (new Mutator(new Random(0), new ArrayList<>(receipt), new ArrayList<>(transformation))).mutate(Mutator.getMaxTypos(receipt, 0) + 1, 0));
+        (new Mutator(new Random(0), receipt, transformation)).mutate(Mutator.getMaxTypos(receipt, 0), 0);
+        assertEquals(2, transformation.stream().filter(Typo.name().toLowerCase()::equals).count());
+    }
+}
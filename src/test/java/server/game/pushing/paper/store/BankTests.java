@@ -2,19 +2,47 @@ package server.game.pushing.paper.store;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import server.game.pushing.paper.generator.OrderGenerator;
 import server.game.pushing.paper.store.bank.AccountType;
+import server.game.pushing.paper.store.bank.ArrayBank;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.BufferBank;
+import server.game.pushing.paper.store.bank.CheckpointBank;
+import server.game.pushing.paper.store.bank.ConcurrentBank;
+import server.game.pushing.paper.store.bank.HeapBank;
 import server.game.pushing.paper.store.bank.account.Account;
-
+import server.game.pushing.paper.store.bank.account.AccountView;
+import server.game.pushing.paper.store.bank.account.CDAccount;
+import server.game.pushing.paper.store.bank.account.CheckingAccount;
+import server.game.pushing.paper.store.bank.account.SavingsAccount;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 import static java.lang.Math.max;
 import static java.lang.Math.min;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static org.junit.jupiter.api.Assertions.*;
-import static server.game.pushing.paper.store.bank.AccountType.Savings;
+import static server.game.pushing.paper.store.bank.AccountType.*;
+import static server.game.pushing.paper.store.bank.Bank.formatID;
+import static server.game.pushing.paper.store.bank.Bank.parseID;
 import static server.game.pushing.paper.store.bank.Bank.getMonthsPerYear;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+import static server.game.pushing.paper.store.bank.Money.format;
+import static server.game.pushing.paper.store.bank.Money.parse;
 
 public class BankTests {
     private Bank bank;
@@ -25,11 +53,11 @@ public class BankTests {
     private final String savingsID1 = "98340842";
     private final String cdID0 = "54873935";
     private final String cdID1 = "37599823";
-    private final double cdBalance = 1475;
+    private final long cdBalance = dollars(1475);
 
-    public static double timeTravel(double balance, int months) {
-        if (balance <= 900) {
-            return max(0, balance - 100 * months);
+    public static long timeTravel(long balance, int months) {
+        if (balance <= dollars(900)) {
+            return max(0, balance - dollars(100) * months);
         }
 
         return balance;
@@ -37,7 +65,7 @@ public class BankTests {
 
     @BeforeEach
     protected void setUp() {
-        bank = new Bank();
+        bank = new HeapBank();
 
         bank.createCheckingAccount(checkingID0);
         bank.createCheckingAccount(checkingID1);
@@ -60,18 +88,18 @@ public class BankTests {
     protected void an_account_has_an_account_type_like_checking_savings_or_cd_as_well_as_an_id_and_balance() {
         AccountType accountType = Savings;
         String id = savingsID1;
-        double balance = 0;
+        long balance = 0;
 
-        Account account = bank.getAccount(id);
+        AccountView account = bank.getAccount(id);
         assertEquals(accountType, account.getAccountType());
-        assertEquals(id, account.getID());
+        assertEquals(id, formatID(account.getID()));
         assertEquals(balance, account.getBalance());
-        assertEquals(String.format("%s %s %.2f", accountType, id, balance).toLowerCase(), account.toString());
+        assertEquals(String.format("%s %s %s", accountType, id, format(balance)).toLowerCase(), account.toString());
     }
 
     @Test
     protected void a_bank_is_a_list_of_accounts() {
-        bank = new Bank();
+        bank = new HeapBank();
 
         assertTrue(bank.isEmpty());
         assertEquals(0, bank.size());
@@ -93,26 +121,26 @@ public class BankTests {
 
     @Test
     protected void during_cd_creation_banks_should_use_a_balance_between_1000_and_10000_inclusive() {
-        double cdBalance = bank.getMinCDBalance();
-        assertEquals(1000, cdBalance);
-        assertFalse(bank.isCDBalanceValid(cdBalance - 5000));
-        assertFalse(bank.isCDBalanceValid(cdBalance - 1));
+        long cdBalance = bank.getMinCDBalance();
+        assertEquals(dollars(1000), cdBalance);
+        assertFalse(bank.isCDBalanceValid(cdBalance - dollars(5000)));
+        assertFalse(bank.isCDBalanceValid(cdBalance - dollars(1)));
         assertTrue(bank.isCDBalanceValid(cdBalance));
-        assertTrue(bank.isCDBalanceValid(cdBalance + 1));
-        assertTrue(bank.isCDBalanceValid(5000));
+        assertTrue(bank.isCDBalanceValid(cdBalance + dollars(1)));
+        assertTrue(bank.isCDBalanceValid(dollars(5000)));
 
         cdBalance = bank.getMaxCDBalance();
-        assertEquals(10000, cdBalance);
-        assertTrue(bank.isCDBalanceValid(6000));
-        assertTrue(bank.isCDBalanceValid(cdBalance - 1));
+        assertEquals(dollars(10000), cdBalance);
+        assertTrue(bank.isCDBalanceValid(dollars(6000)));
+        assertTrue(bank.isCDBalanceValid(cdBalance - dollars(1)));
         assertTrue(bank.isCDBalanceValid(cdBalance));
-        assertFalse(bank.isCDBalanceValid(cdBalance + 1));
-        assertFalse(bank.isCDBalanceValid(cdBalance + 5000));
+        assertFalse(bank.isCDBalanceValid(cdBalance + dollars(1)));
+        assertFalse(bank.isCDBalanceValid(cdBalance + dollars(5000)));
 
-        assertFalse(bank.isCDBalanceValid(Double.NEGATIVE_INFINITY));
+        assertFalse(bank.isCDBalanceValid(Long.MIN_VALUE));
         assertFalse(bank.isCDBalanceValid(0));
-        assertFalse(bank.isCDBalanceValid(1));
-        assertFalse(bank.isCDBalanceValid(Double.POSITIVE_INFINITY));
+        assertFalse(bank.isCDBalanceValid(dollars(1)));
+        assertFalse(bank.isCDBalanceValid(Long.MAX_VALUE));
     }
 
     @Test
@@ -133,20 +161,20 @@ public class BankTests {
 
     @Test
     protected void the_min_balance_fee_is_100() {
-        assertEquals(100, bank.getMinBalanceFee());
+        assertEquals(dollars(100), bank.getMinBalanceFee());
     }
 
     @Test
     protected void a_low_balance_account_has_a_balance_less_than_or_equal_to_900() {
         List<String> accounts = new ArrayList<>(Arrays.asList(checkingID0, savingsID1, savingsID0));
-        List<Double> depositAmounts = new ArrayList<>(Arrays.asList(899., 900., 901.));
+        List<Long> depositAmounts = new ArrayList<>(Arrays.asList(dollars(899), dollars(900), dollars(901)));
         for (int i = 0; i < accounts.size(); i++) {
             String id = accounts.get(i);
-            double depositAmount = depositAmounts.get(i);
+            long depositAmount = depositAmounts.get(i);
 
             bank.deposit(id, depositAmount);
 
-            assertEquals(bank.getAccount(id).getBalance() <= 900, bank.isLowBalanceAccount(id));
+            assertEquals(bank.getAccount(id).getBalance() <= dollars(900), bank.isLowBalanceAccount(id));
         }
     }
 
@@ -154,10 +182,10 @@ public class BankTests {
     protected void during_time_travel_the_bank_will_withdraw_the_min_balance_fee_from_low_balance_accounts() {
         List<String> accounts = new ArrayList<>(Arrays.asList(checkingID0, savingsID1, savingsID0));
         int months = 3;
-        List<Double> depositAmounts = new ArrayList<>(Arrays.asList(800., 900., 1000.));
+        List<Long> depositAmounts = new ArrayList<>(Arrays.asList(dollars(800), dollars(900), dollars(1000)));
         for (int i = 0; i < accounts.size(); i++) {
             String id = accounts.get(i);
-            double depositAmount = depositAmounts.get(i);
+            long depositAmount = depositAmounts.get(i);
 
             bank.deposit(id, depositAmount);
             bank.timeTravel(months);
@@ -170,7 +198,7 @@ public class BankTests {
     protected void banks_can_deposit_to_checking_and_savings() {
         List<String> accounts = new ArrayList<>(Arrays.asList(checkingID0, savingsID1));
         for (String id : accounts) {
-            double depositAmount = bank.getAccount(id).getMaxDepositAmount();
+            long depositAmount = bank.getAccount(id).getMaxDepositAmount();
 
             bank.deposit(id, depositAmount);
 
@@ -180,9 +208,9 @@ public class BankTests {
 
     @Test
     protected void banks_should_not_deposit_to_cd() {
-        List<Double> depositAmounts = new ArrayList<>(Arrays.asList(-500., -1., 0., 1., 500., 600., 999., 1000., 1001., 1500.));
+        List<Long> depositAmounts = new ArrayList<>(Arrays.asList(dollars(-500), dollars(-1), dollars(0), dollars(1), dollars(500), dollars(600), dollars(999), dollars(1000), dollars(1001), dollars(1500)));
 
-        for (Double depositAmount : depositAmounts) {
+        for (long depositAmount : depositAmounts) {
             assertFalse(bank.isDepositAmountValid(cdID0, depositAmount));
         }
     }
@@ -190,7 +218,7 @@ public class BankTests {
     @Test
     protected void during_deposits_banks_should_use_a_taken_id() {
         String id = savingsID1;
-        double depositAmount = bank.getAccount(id).getMaxDepositAmount();
+        long depositAmount = bank.getAccount(id).getMaxDepositAmount();
 
         assertFalse(bank.isDepositAmountValid("08243478", depositAmount));
         assertTrue(bank.isDepositAmountValid(id, depositAmount));
@@ -200,48 +228,48 @@ public class BankTests {
     protected void during_deposits_to_checking_banks_should_use_a_deposit_amount_between_0_and_1000_excluding_0() {
         String id = checkingID1;
 
-        double depositAmount = 0;
-        assertFalse(bank.isDepositAmountValid(id, depositAmount - 500));
-        assertFalse(bank.isDepositAmountValid(id, depositAmount - 1));
+        long depositAmount = 0;
+        assertFalse(bank.isDepositAmountValid(id, depositAmount - dollars(500)));
+        assertFalse(bank.isDepositAmountValid(id, depositAmount - dollars(1)));
         assertFalse(bank.isDepositAmountValid(id, depositAmount));
-        assertTrue(bank.isDepositAmountValid(id, depositAmount + 1));
-        assertTrue(bank.isDepositAmountValid(id, 500));
+        assertTrue(bank.isDepositAmountValid(id, depositAmount + dollars(1)));
+        assertTrue(bank.isDepositAmountValid(id, dollars(500)));
 
         depositAmount = bank.getAccount(id).getMaxDepositAmount();
-        assertEquals(1000, depositAmount);
-        assertTrue(bank.isDepositAmountValid(id, 600));
-        assertTrue(bank.isDepositAmountValid(id, depositAmount - 1));
+        assertEquals(dollars(1000), depositAmount);
+        assertTrue(bank.isDepositAmountValid(id, dollars(600)));
+        assertTrue(bank.isDepositAmountValid(id, depositAmount - dollars(1)));
         assertTrue(bank.isDepositAmountValid(id, depositAmount));
-        assertFalse(bank.isDepositAmountValid(id, depositAmount + 1));
-        assertFalse(bank.isDepositAmountValid(id, depositAmount + 500));
+        assertFalse(bank.isDepositAmountValid(id, depositAmount + dollars(1)));
+        assertFalse(bank.isDepositAmountValid(id, depositAmount + dollars(500)));
     }
 
     @Test
     protected void during_deposits_to_savings_banks_should_use_a_deposit_amount_between_0_and_2500_excluding_0() {
         String id = savingsID1;
 
-        double depositAmount = 0;
-        assertFalse(bank.isDepositAmountValid(id, depositAmount - 1200));
-        assertFalse(bank.isDepositAmountValid(id, depositAmount - 1));
+        long depositAmount = 0;
+        assertFalse(bank.isDepositAmountValid(id, depositAmount - dollars(1200)));
+        assertFalse(bank.isDepositAmountValid(id, depositAmount - dollars(1)));
         assertFalse(bank.isDepositAmountValid(id, depositAmount));
-        assertTrue(bank.isDepositAmountValid(id, depositAmount + 1));
-        assertTrue(bank.isDepositAmountValid(id, 1200));
+        assertTrue(bank.isDepositAmountValid(id, depositAmount + dollars(1)));
+        assertTrue(bank.isDepositAmountValid(id, dollars(1200)));
 
         depositAmount = bank.getAccount(id).getMaxDepositAmount();
-        assertEquals(2500, depositAmount);
-        assertTrue(bank.isDepositAmountValid(id, 1300));
-        assertTrue(bank.isDepositAmountValid(id, depositAmount - 1));
+        assertEquals(dollars(2500), depositAmount);
+        assertTrue(bank.isDepositAmountValid(id, dollars(1300)));
+        assertTrue(bank.isDepositAmountValid(id, depositAmount - dollars(1)));
         assertTrue(bank.isDepositAmountValid(id, depositAmount));
-        assertFalse(bank.isDepositAmountValid(id, depositAmount + 1));
-        assertFalse(bank.isDepositAmountValid(id, depositAmount + 1200));
+        assertFalse(bank.isDepositAmountValid(id, depositAmount + dollars(1)));
+        assertFalse(bank.isDepositAmountValid(id, depositAmount + dollars(1200)));
     }
 
     @Test
     protected void banks_can_withdraw_from_accounts() {
         List<String> accounts = new ArrayList<>(Arrays.asList(checkingID0, savingsID1, cdID1));
         for (String id : accounts) {
-            double depositAmount = bank.getAccount(id).getMaxDepositAmount();
-            double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+            long depositAmount = bank.getAccount(id).getMaxDepositAmount();
+            long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
             bank.deposit(id, depositAmount);
             bank.withdraw(id, withdrawAmount);
@@ -253,8 +281,8 @@ public class BankTests {
     @Test
     protected void if_the_withdraw_amount_is_greater_than_the_balance_then_the_bank_will_withdraw_the_balance_instead() {
         String id = savingsID1;
-        double depositAmount = bank.getAccount(id).getMaxWithdrawAmount() / 2;
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long depositAmount = bank.getAccount(id).getMaxWithdrawAmount() / 2;
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         bank.deposit(id, depositAmount);
         assertTrue(withdrawAmount > bank.getAccount(id).getBalance());
@@ -266,7 +294,7 @@ public class BankTests {
     @Test
     protected void during_withdraws_banks_should_use_a_taken_id() {
         String id = checkingID1;
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         assertFalse(bank.isWithdrawAmountValid("34784792", withdrawAmount));
         assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount));
@@ -276,67 +304,67 @@ public class BankTests {
     protected void during_withdraws_from_checking_banks_should_use_a_withdraw_amount_between_0_and_400_excluding_0() {
         String id = checkingID1;
 
-        double withdrawAmount = 0;
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - 200));
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - 1));
+        long withdrawAmount = 0;
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(200)));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(1)));
         assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount));
-        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + 1));
-        assertTrue(bank.isWithdrawAmountValid(id, 200));
+        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(1)));
+        assertTrue(bank.isWithdrawAmountValid(id, dollars(200)));
 
         withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
-        assertEquals(400, withdrawAmount);
-        assertTrue(bank.isWithdrawAmountValid(id, 300));
-        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount - 1));
+        assertEquals(dollars(400), withdrawAmount);
+        assertTrue(bank.isWithdrawAmountValid(id, dollars(300)));
+        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(1)));
         assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount));
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + 1));
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + 200));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(1)));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(200)));
     }
 
     @Test
     protected void during_withdraws_from_savings_banks_should_use_a_withdraw_amount_between_0_and_1000_excluding_0() {
         String id = savingsID1;
 
-        double withdrawAmount = 0;
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - 500));
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - 1));
+        long withdrawAmount = 0;
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(500)));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(1)));
         assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount));
-        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + 1));
-        assertTrue(bank.isWithdrawAmountValid(id, 500));
+        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(1)));
+        assertTrue(bank.isWithdrawAmountValid(id, dollars(500)));
 
         withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
-        assertEquals(1000, withdrawAmount);
-        assertTrue(bank.isWithdrawAmountValid(id, 600));
-        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount - 1));
+        assertEquals(dollars(1000), withdrawAmount);
+        assertTrue(bank.isWithdrawAmountValid(id, dollars(600)));
+        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(1)));
         assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount));
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + 1));
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + 500));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(1)));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(500)));
     }
 
     @Test
     protected void during_withdraws_from_cd_banks_should_use_a_withdraw_amount_greater_than_or_equal_to_the_balance() {
         String id = cdID0;
         int months = getMonthsPerYear();
-        double withdrawAmount = cdBalance;
+        long withdrawAmount = cdBalance;
 
         bank.timeTravel(months);
         assertEquals(withdrawAmount, bank.getAccount(id).getBalance());
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - 1000));
-        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - 100));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(1000)));
+        assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount - dollars(100)));
         assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount));
-        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + 100));
-        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + 1000));
+        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(100)));
+        assertTrue(bank.isWithdrawAmountValid(id, withdrawAmount + dollars(1000)));
 
-        assertFalse(bank.isWithdrawAmountValid(id, Double.NEGATIVE_INFINITY));
+        assertFalse(bank.isWithdrawAmountValid(id, Long.MIN_VALUE));
         assertFalse(bank.isWithdrawAmountValid(id, 0));
-        assertFalse(bank.isWithdrawAmountValid(id, 1));
-        assertTrue(bank.isWithdrawAmountValid(id, Double.POSITIVE_INFINITY));
+        assertFalse(bank.isWithdrawAmountValid(id, dollars(1)));
+        assertTrue(bank.isWithdrawAmountValid(id, Long.MAX_VALUE));
     }
 
     @Test
     protected void banks_can_only_withdraw_from_a_savings_once_a_month() {
         String id = savingsID1;
         int months = 1;
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         bank.withdraw(id, withdrawAmount);
         assertFalse(bank.isWithdrawAmountValid(id, withdrawAmount));
@@ -348,7 +376,7 @@ public class BankTests {
     @Test
     protected void banks_can_only_withdraw_from_a_cd_once_after_a_year() {
         String id = cdID1;
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         for (int months = 0; months < 24; months++) {
             assertEquals(months >= getMonthsPerYear(), bank.isWithdrawAmountValid(id, withdrawAmount));
@@ -363,7 +391,7 @@ public class BankTests {
     protected void banks_can_transfer() {
         String payingID = checkingID0;
         String receivingID = savingsID1;
-        double transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
+        long transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
 
         bank.deposit(payingID, transferAmount);
         bank.transfer(payingID, receivingID, transferAmount);
@@ -377,7 +405,7 @@ public class BankTests {
         int months = getMonthsPerYear();
         String payingID = cdID0;
         String receivingID = savingsID0;
-        double transferAmount = cdBalance;
+        long transferAmount = cdBalance;
 
         bank.timeTravel(months);
 
@@ -400,8 +428,8 @@ public class BankTests {
     protected void if_the_transfer_amount_is_greater_than_the_paying_account_balance_then_the_bank_will_transfer_the_paying_account_balance_instead() {
         String payingID = checkingID0;
         String receivingID = savingsID1;
-        double depositAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
-        double transferAmount = Double.POSITIVE_INFINITY;
+        long depositAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
+        long transferAmount = Long.MAX_VALUE;
 
         bank.deposit(payingID, depositAmount);
         bank.transfer(payingID, receivingID, transferAmount);
@@ -414,9 +442,696 @@ public class BankTests {
     protected void during_transfers_banks_should_use_a_different_paying_id_and_receiving_id() {
         String payingID = checkingID0;
         String receivingID = savingsID1;
-        double transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
+        long transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
 
         assertFalse(bank.isTransferAmountValid(payingID, payingID, transferAmount));
         assertTrue(bank.isTransferAmountValid(payingID, receivingID, transferAmount));
     }
+
+    @Test
+    protected void money_is_a_whole_number_of_cents_that_parses_and_formats_2_decimal_amounts() {
+        assertEquals(dollars(1000), parse("1000"));
+        assertEquals(100050, parse("1000.5"));
+        assertEquals(100050, parse("+1000.500"));
+        assertEquals(Long.MIN_VALUE, parse("1000.004"));
+        assertEquals(Long.MIN_VALUE, parse("1000.005"));
+        assertEquals(Long.MIN_VALUE, parse("0.0001"));
+        assertEquals(-1, parse("-0.01"));
+        assertEquals(Long.MIN_VALUE, parse(""));
+        assertEquals(Long.MIN_VALUE, parse("."));
+        assertEquals(Long.MIN_VALUE, parse("1e3"));
+        assertEquals(Long.MIN_VALUE, parse("10.0.0"));
+        assertEquals(Long.MIN_VALUE, parse("99999999999999999999"));
+
+        assertEquals("0.00", format(0));
+        assertEquals("0.07", format(7));
+        assertEquals("1000.50", format(100050));
+        assertEquals("-12.34", format(-1234));
+        assertEquals("92233720368547758.07", format(Long.MAX_VALUE));
+        assertEquals("-92233720368547758.08", format(Long.MIN_VALUE));
+    }
+
+    @Test
+    protected void banks_count_accounts_that_can_withdraw_to_decide_which_transactions_are_feasible() {
+        assertEquals(2, bank.countAccounts(Checking));
+        assertEquals(2, bank.countWithdrawAvailableAccounts(Savings));
+        assertEquals(0, bank.countWithdrawAvailableAccounts(CD));
+
+        bank.withdraw(savingsID0, dollars(100));
+        bank.transfer(savingsID1, checkingID0, dollars(100));
+        bank.withdraw(savingsID1, dollars(100));
+        assertEquals(0, bank.countWithdrawAvailableAccounts(Savings));
+
+        bank.timeTravel(getMonthsPerYear());
+        assertEquals(2, bank.countWithdrawAvailableAccounts(Savings));
+        assertEquals(2, bank.countWithdrawAvailableAccounts(CD));
+
+        bank.withdraw(cdID0, cdBalance);
+        bank.createCheckingAccount(cdID1);
+        assertEquals(0, bank.countWithdrawAvailableAccounts(CD));
+        assertEquals(1, bank.countAccounts(CD));
+        assertEquals(3, bank.countAccounts(Checking));
+        assertTrue(bank.isDepositFeasible() && bank.isWithdrawFeasible() && bank.isTransferFeasible() && bank.isTimeTravelFeasible());
+
+        Bank cdBank = new HeapBank();
+        cdBank.createCDAccount(0, cdBalance);
+        assertFalse(cdBank.isDepositFeasible() || cdBank.isWithdrawFeasible() || cdBank.isTransferFeasible());
+
+        cdBank.createSavingsAccount(1);
+        cdBank.timeTravel(getMonthsPerYear());
+        assertTrue(cdBank.isTransferFeasible());
+
+        cdBank.withdraw(0, cdBalance);
+        cdBank.withdraw(1, 0);
+        assertFalse(cdBank.isWithdrawFeasible() || cdBank.isTransferFeasible());
+        assertTrue(cdBank.isDepositFeasible());
+    }
+
+    @Test
+    protected void banks_index_ids_by_account_type_to_sample_accounts_without_copying() {
+        assertEquals(parseID(checkingID0), bank.getID(0));
+        assertEquals(parseID(cdID0), bank.getID(5));
+        assertEquals(parseID(checkingID1), bank.getID(Checking, 1));
+        assertEquals(parseID(savingsID1), bank.getID(Savings, 0));
+        assertEquals(parseID(cdID0), bank.getID(CD, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> bank.getID(CD, 2));
+
+        bank.withdraw(savingsID1, dollars(100));
+        assertEquals(1, bank.countWithdrawAvailableAccounts(Savings));
+        assertEquals(parseID(savingsID0), bank.getWithdrawAvailableID(Savings, 0));
+
+        bank.createSavingsAccount(checkingID0);
+        assertEquals(1, bank.countAccounts(Checking));
+        assertEquals(parseID(checkingID1), bank.getID(Checking, 0));
+        assertEquals(parseID(checkingID0), bank.getID(Savings, 2));
+        assertEquals(6, bank.size());
+
+        Bank largeBank = new HeapBank();
+        for (int id = 0; id < 30000; id++) {
+            largeBank.createCheckingAccount(id);
+        }
+        assertEquals(30000, largeBank.countAccounts(Checking));
+        assertEquals(29999, largeBank.getID(Checking, 29999));
+    }
+
+    private void assertSameReceipts(Supplier<Bank> bankSupplier) {
+        Random random = new Random();
+        for (int i = 0; i < 50; i++) {
+            List<String> order = new OrderGenerator().generateOrder(random, 200);
+            order.add(random.nextInt(order.size()), "time travel 60");
+            order.add(random.nextInt(order.size()), "create savings 00000000");
+            order.add(random.nextInt(order.size()), "withdraw 00000001 400");
+            order.add(random.nextInt(order.size()), "transfer 00000000 00000001 -1");
+            Receipt receipt = new Receipt();
+            Receipt otherReceipt = new Receipt(bankSupplier.get());
+            for (String transaction : order) {
+                receipt.addTransaction(transaction);
+                otherReceipt.addTransaction(transaction);
+            }
+
+            assertEquals(receipt.output(), otherReceipt.output());
+            assertEquals(receipt.getValidities(), otherReceipt.getValidities());
+        }
+    }
+
+    @Test
+    protected void an_array_bank_stores_accounts_in_parallel_arrays_and_outputs_the_same_receipts() {
+        assertSameReceipts(() -> new ArrayBank(1));
+
+        Bank arrayBank = new ArrayBank();
+        for (int id = 99999999; id > 99999999 - 30000; id--) {
+            arrayBank.createSavingsAccount(id);
+        }
+        arrayBank.createCDAccount(99999999, cdBalance);
+        arrayBank.timeTravel(getMonthsPerYear());
+        assertEquals(30000, arrayBank.size());
+        assertEquals(99999999, arrayBank.getID(0));
+        assertEquals(cdBalance, arrayBank.getAccount(99999999).getBalance());
+        assertTrue(arrayBank.isWithdrawAmountValid(99999999, cdBalance));
+        assertEquals(1, arrayBank.countWithdrawAvailableAccounts(CD));
+        assertEquals(0, arrayBank.getAccount(99999998).getBalance());
+        assertFalse(arrayBank.containsAccount(0));
+    }
+
+    @Test
+    protected void record_banks_read_accounts_through_views_that_match_heap_accounts() {
+        List<Bank> banks = Arrays.asList(new HeapBank(), new ArrayBank(1), new BufferBank(1));
+        for (Bank bank : banks) {
+            bank.createCheckingAccount(0);
+            bank.createSavingsAccount(1);
+            bank.createCDAccount(2, cdBalance);
+            bank.deposit(1, dollars(2000));
+            bank.withdraw(1, dollars(100));
+            bank.timeTravel(3);
+        }
+
+        for (Bank bank : banks) {
+            assertEquals(bank instanceof HeapBank, bank.getAccount(0) instanceof Account);
+            for (int id = 0; id < 3; id++) {
+                AccountView account = banks.get(0).getAccount(id);
+                AccountView view = bank.getAccount(id);
+                assertEquals(account.toString(), view.toString());
+                assertEquals(account.getAccountType(), view.getAccountType());
+                assertEquals(account.getBalance(), view.getBalance());
+                assertEquals(account.getLifetime(), view.getLifetime());
+                assertEquals(account.isMonthlyWithdrawLimit(), view.isMonthlyWithdrawLimit());
+                assertEquals(account.isWithdrawAvailable(), view.isWithdrawAvailable());
+                assertEquals(account.getMinDepositAmount(), view.getMinDepositAmount());
+                assertEquals(account.getMaxDepositAmount(), view.getMaxDepositAmount());
+                assertEquals(account.getMinWithdrawAmount(), view.getMinWithdrawAmount());
+                assertEquals(account.getMaxWithdrawAmount(), view.getMaxWithdrawAmount());
+                assertEquals(account.getAPR(), view.getAPR());
+                assertEquals(account.isWithdrawAmountValid(dollars(100)), view.isWithdrawAmountValid(dollars(100)));
+                assertEquals(account.isDepositAmountValid(dollars(100)), view.isDepositAmountValid(dollars(100)));
+            }
+            assertNull(bank.getAccount(3));
+        }
+    }
+
+    @Test
+    protected void a_buffer_bank_stores_accounts_off_heap_in_fixed_width_records_and_outputs_the_same_receipts() {
+        assertSameReceipts(() -> new BufferBank(1));
+        assertThrows(IllegalArgumentException.class, () -> new BufferBank(0));
+
+        Bank bufferBank = new BufferBank(2);
+        for (int id = 0; id < 100000; id++) {
+            bufferBank.createCheckingAccount(id);
+            bufferBank.deposit(id, dollars(id % 1000));
+        }
+        bufferBank.withdraw(999, dollars(100));
+        bufferBank.transfer(999, 0, dollars(1000));
+        bufferBank.timeTravel(1);
+        assertEquals(100000, bufferBank.size());
+        assertEquals(dollars(799), bufferBank.getAccount(0).getBalance());
+        assertEquals(0, bufferBank.getAccount(999).getBalance());
+        assertEquals(dollars(999), bufferBank.getAccount(99999).getBalance());
+        assertTrue(bufferBank.isLowBalanceAccount(1));
+        assertFalse(bufferBank.isLowBalanceAccount(99999));
+    }
+
+    @Test
+    protected void banks_write_and_read_compact_versioned_snapshots_with_cd_lifetimes_and_savings_withdraw_limits(@TempDir Path directory) throws IOException {
+        Random random = new Random();
+        Path path = directory.resolve("bank.snapshot");
+        for (int i = 0; i < 50; i++) {
+            int savingsAPR = random.nextInt(Bank.getMaxAPR() + 1);
+            int cdAPR = random.nextInt(Bank.getMaxAPR() + 1);
+            Bank snapshotBank = i % 2 == 0 ? new HeapBank(savingsAPR, cdAPR) : new ArrayBank(1, savingsAPR, cdAPR);
+            Receipt receipt = new Receipt(snapshotBank);
+            for (String transaction : new OrderGenerator().generateOrder(random, 100)) {
+                receipt.addTransaction(transaction);
+            }
+            snapshotBank.timeTravel(random.nextInt(3));
+
+            snapshotBank.writeSnapshot(path);
+            List<Bank> banks = Arrays.asList(snapshotBank, Bank.readSnapshot(path), Bank.readSnapshot(path, (restoredSavingsAPR, restoredCDAPR) -> new BufferBank(1, restoredSavingsAPR, restoredCDAPR)));
+            assertEquals(20 + 18L * snapshotBank.size(), Files.size(path));
+            for (int j = 0; j < 2; j++) {
+                for (Bank bank : banks) {
+                    assertEquals(snapshotBank.getSavingsAPR(), bank.getSavingsAPR());
+                    assertEquals(snapshotBank.getCDAPR(), bank.getCDAPR());
+                    assertEquals(new ArrayList<>(snapshotBank.getIDs()), new ArrayList<>(bank.getIDs()));
+                    for (AccountType accountType : AccountType.values()) {
+                        assertEquals(snapshotBank.countWithdrawAvailableAccounts(accountType), bank.countWithdrawAvailableAccounts(accountType));
+                    }
+                    for (int id : snapshotBank.getIDs()) {
+                        assertEquals(snapshotBank.getAccount(id).toString(), bank.getAccount(id).toString());
+                        assertEquals(snapshotBank.isWithdrawAmountValid(id, Long.MAX_VALUE), bank.isWithdrawAmountValid(id, Long.MAX_VALUE));
+                        assertEquals(snapshotBank.isWithdrawAmountValid(id, dollars(100)), bank.isWithdrawAmountValid(id, dollars(100)));
+                    }
+                }
+
+                int months = 1 + random.nextInt(getMonthsPerYear());
+                for (Bank bank : banks) {
+                    bank.timeTravel(months);
+                }
+            }
+        }
+
+        Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20 });
+        assertThrows(IllegalArgumentException.class, () -> Bank.readSnapshot(path));
+        new HeapBank().writeSnapshot(path);
+        Files.write(path, new byte[] { 0 }, APPEND);
+        assertThrows(IllegalArgumentException.class, () -> Bank.readSnapshot(path));
+    }
+
+    @Test
+    protected void heap_banks_bulk_load_snapshots_into_indexes_that_later_transactions_update(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("bank.snapshot");
+        Bank snapshotBank = new HeapBank();
+        for (int id = 0; id < 3000; id++) {
+            if (id % 3 == 0) {
+                snapshotBank.createCheckingAccount(id);
+                snapshotBank.deposit(id, dollars(id % 1000));
+            } else if (id % 3 == 1) {
+                snapshotBank.createSavingsAccount(id);
+                snapshotBank.deposit(id, dollars(id % 1000));
+            } else {
+                snapshotBank.createCDAccount(id, cdBalance);
+            }
+        }
+        snapshotBank.timeTravel(getMonthsPerYear());
+        for (int id = 1; id < 3000; id += 6) {
+            snapshotBank.withdraw(id, dollars(1));
+        }
+
+        snapshotBank.writeSnapshot(path);
+        List<Bank> banks = Arrays.asList(snapshotBank, Bank.readSnapshot(path));
+        for (Bank bank : banks) {
+            for (int id = 4; id < 3000; id += 6) {
+                bank.withdraw(id, dollars(1));
+            }
+            for (int id = 2; id < 3000; id += 9) {
+                bank.withdraw(id, cdBalance);
+            }
+            bank.transfer(0, 3, dollars(100));
+            bank.createSavingsAccount(3000);
+        }
+
+        for (AccountType accountType : AccountType.values()) {
+            List<List<Integer>> accountIDs = new ArrayList<>();
+            List<List<Integer>> withdrawAvailableIDs = new ArrayList<>();
+            for (Bank bank : banks) {
+                List<Integer> ids = new ArrayList<>();
+                for (int i = 0; i < bank.countAccounts(accountType); i++) {
+                    ids.add(bank.getID(accountType, i));
+                }
+                ids.sort(null);
+                accountIDs.add(ids);
+
+                ids = new ArrayList<>();
+                for (int i = 0; i < bank.countWithdrawAvailableAccounts(accountType); i++) {
+                    ids.add(bank.getWithdrawAvailableID(accountType, i));
+                }
+                ids.sort(null);
+                withdrawAvailableIDs.add(ids);
+            }
+
+            assertEquals(accountIDs.get(0), accountIDs.get(1));
+            assertEquals(withdrawAvailableIDs.get(0), withdrawAvailableIDs.get(1));
+        }
+        for (Bank bank : banks) {
+            bank.timeTravel(1);
+        }
+        for (AccountType accountType : AccountType.values()) {
+            assertEquals(snapshotBank.countWithdrawAvailableAccounts(accountType), banks.get(1).countWithdrawAvailableAccounts(accountType));
+        }
+        assertEquals(3001, banks.get(1).size());
+        assertEquals(3000, banks.get(1).getID(3000));
+    }
+
+    @Test
+    protected void bank_snapshots_reject_account_records_that_creating_accounts_could_not_produce(@TempDir Path directory) throws IOException {
+        Path path = directory.resolve("bank.snapshot");
+        int[][] corruptions = {
+                { 1, 0, Integer.BYTES, Bank.getMaxID() + 1 },
+                { 0, 0, Integer.BYTES, -1 },
+                { 2, 0, Integer.BYTES, 0 },
+                { 0, 4, 1, AccountType.values().length },
+                { 0, 4, 1, -1 },
+                { 1, 5, 1, 2 },
+                { 0, 5, 1, 1 },
+                { 2, 5, 1, 1 },
+                { 0, 6, Integer.BYTES, 12 },
+                { 1, 6, Integer.BYTES, 12 }
+        };
+        for (int[] corruption : corruptions) {
+            Bank bank = new HeapBank();
+            bank.createCheckingAccount(0);
+            bank.createSavingsAccount(Bank.getMaxID());
+            bank.withdraw(Bank.getMaxID(), 0);
+            bank.createCDAccount(2, dollars(1000));
+            bank.writeSnapshot(path);
+            assertFalse(Bank.readSnapshot(path).isWithdrawAmountValid(Bank.getMaxID(), 0));
+
+            ByteBuffer field = ByteBuffer.allocate(corruption[2]);
+            if (corruption[2] == 1) {
+                field.put((byte) corruption[3]);
+            } else {
+                field.putInt(corruption[3]);
+            }
+            try (FileChannel channel = FileChannel.open(path, WRITE)) {
+                channel.write(field.flip(), 20 + 18L * corruption[0] + corruption[1]);
+            }
+
+            assertThrows(IllegalArgumentException.class, () -> Bank.readSnapshot(path));
+        }
+    }
+
+    @Test
+    protected void a_concurrent_bank_conserves_money_across_threads_that_transfer_deposit_and_time_travel() throws InterruptedException, ExecutionException {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentBank(3));
+
+        ConcurrentBank concurrentBank = new ConcurrentBank(4);
+        for (int id = 0; id < 64; id++) {
+            concurrentBank.createCheckingAccount(id);
+            concurrentBank.deposit(id, dollars(1000000));
+        }
+        for (int id = 64; id < 73; id++) {
+            concurrentBank.createSavingsAccount(id);
+            concurrentBank.deposit(id, dollars(100 * (id - 63)));
+        }
+
+        List<Callable<Long>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int seed = i;
+            tasks.add(() -> {
+                Random random = new Random(seed);
+                for (int j = 0; j < 20000; j++) {
+                    int payingID = random.nextInt(64);
+                    int receivingID = (payingID + 1 + random.nextInt(63)) % 64;
+                    if (j % 2 == 0) {
+                        concurrentBank.transfer(payingID, receivingID, dollars(1));
+                    } else {
+                        assertTrue(concurrentBank.tryTransfer(receivingID, payingID, dollars(1)));
+                    }
+                }
+
+                return 0L;
+            });
+        }
+        tasks.add(() -> {
+            long deposits = 0;
+            for (int id = 0; id < 20000; id++) {
+                if (concurrentBank.tryDeposit(id % 64, dollars(10))) {
+                    deposits += dollars(10);
+                }
+            }
+
+            return deposits;
+        });
+        tasks.add(() -> {
+            for (int month = 0; month < 6; month++) {
+                concurrentBank.timeTravel(1);
+                concurrentBank.countWithdrawAvailableAccounts(Checking);
+            }
+
+            return 0L;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        long deposits = 0;
+        try {
+            for (Future<Long> future : executor.invokeAll(tasks, 60, TimeUnit.SECONDS)) {
+                deposits += future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long balance = 0;
+        for (int id = 0; id < 64; id++) {
+            balance += concurrentBank.getAccount(id).getBalance();
+        }
+        assertEquals(64 * dollars(1000000) + deposits, balance);
+        assertEquals(20000 * dollars(10), deposits);
+        for (int id = 64; id < 73; id++) {
+            assertEquals(max(0, dollars(100 * (id - 63)) - 6 * bank.getMinBalanceFee()), concurrentBank.getAccount(id).getBalance());
+        }
+        assertEquals(64, concurrentBank.countWithdrawAvailableAccounts(Checking));
+        assertEquals(9, concurrentBank.countWithdrawAvailableAccounts(Savings));
+    }
+
+    @Test
+    protected void a_concurrent_bank_applies_withdraw_availability_from_every_stripe_before_reading_it() throws InterruptedException, ExecutionException {
+        ConcurrentBank concurrentBank = new ConcurrentBank(8);
+        for (int id = 0; id < 256; id++) {
+            if (id % 2 == 0) {
+                concurrentBank.createSavingsAccount(id);
+                concurrentBank.deposit(id, dollars(5000));
+            } else {
+                concurrentBank.createCDAccount(id, dollars(5000));
+            }
+        }
+
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int seed = i;
+            tasks.add(() -> {
+                Random random = new Random(seed);
+                int withdraws = 0;
+                for (int j = 0; j < 5000; j++) {
+                    if (concurrentBank.tryWithdraw(seed + 4 * random.nextInt(64), dollars(1))) {
+                        withdraws++;
+                    }
+                }
+
+                return withdraws;
+            });
+        }
+        tasks.add(() -> {
+            for (int month = 0; month < 24; month++) {
+                concurrentBank.timeTravel(1);
+                concurrentBank.countWithdrawAvailableAccounts(Savings);
+            }
+
+            return 0;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        int withdraws = 0;
+        try {
+            for (Future<Integer> future : executor.invokeAll(tasks, 60, TimeUnit.SECONDS)) {
+                withdraws += future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(withdraws > 0);
+        for (AccountType accountType : Arrays.asList(Savings, CD)) {
+            int withdrawAvailableAccounts = 0;
+            for (int id = accountType == Savings ? 0 : 1; id < 256; id += 2) {
+                if (concurrentBank.getAccount(id).isWithdrawAvailable()) {
+                    withdrawAvailableAccounts++;
+                }
+            }
+
+            assertEquals(withdrawAvailableAccounts, concurrentBank.countWithdrawAvailableAccounts(accountType));
+            for (int i = 0; i < withdrawAvailableAccounts; i++) {
+                assertTrue(concurrentBank.getAccount(concurrentBank.getWithdrawAvailableID(accountType, i)).isWithdrawAvailable());
+            }
+        }
+    }
+
+    @Test
+    protected void a_checkpoint_bank_rolls_back_to_any_open_checkpoint_like_replaying_the_transactions_before_it() {
+        Random random = new Random();
+        for (int i = 0; i < 100; i++) {
+            int savingsAPR = i % 2 == 0 ? 0 : random.nextInt(Bank.getMaxAPR() + 1);
+            int cdAPR = i % 2 == 0 ? 0 : random.nextInt(Bank.getMaxAPR() + 1);
+            CheckpointBank checkpointBank = new CheckpointBank(savingsAPR, cdAPR);
+            List<long[]> operations = new ArrayList<>();
+            List<int[]> checkpoints = new ArrayList<>();
+            for (int j = 0; j < 300; j++) {
+                int action = random.nextInt(10);
+                if (action < 2) {
+                    checkpoints.add(new int[] { checkpointBank.checkpoint(), operations.size() });
+                } else if (action < 4 && !checkpoints.isEmpty()) {
+                    int k = random.nextInt(checkpoints.size());
+                    checkpointBank.rollback(checkpoints.get(k)[0]);
+                    operations.subList(checkpoints.get(k)[1], operations.size()).clear();
+                    checkpoints.subList(k + 1, checkpoints.size()).clear();
+                } else {
+                    long[] operation = { random.nextInt(8), random.nextInt(10), random.nextInt(150000) };
+                    applyOperation(checkpointBank, operation);
+                    operations.add(operation);
+                }
+
+                if (random.nextInt(5) == 0) {
+                    Bank bank = new HeapBank(savingsAPR, cdAPR);
+                    for (long[] operation : operations) {
+                        applyOperation(bank, operation);
+                    }
+
+                    assertEquals(new ArrayList<>(bank.getIDs()), new ArrayList<>(checkpointBank.getIDs()));
+                    for (AccountType accountType : AccountType.values()) {
+                        assertEquals(bank.countAccounts(accountType), checkpointBank.countAccounts(accountType));
+                        for (int k = 0; k < bank.countAccounts(accountType); k++) {
+                            assertEquals(bank.getID(accountType, k), checkpointBank.getID(accountType, k));
+                        }
+                        assertEquals(bank.countWithdrawAvailableAccounts(accountType), checkpointBank.countWithdrawAvailableAccounts(accountType));
+                    }
+                    for (int id : bank.getIDs()) {
+                        assertEquals(bank.getAccount(id).toString(), checkpointBank.getAccount(id).toString());
+                        assertEquals(bank.isWithdrawAmountValid(id, Long.MAX_VALUE), checkpointBank.isWithdrawAmountValid(id, Long.MAX_VALUE));
+                        assertEquals(bank.isWithdrawAmountValid(id, dollars(100)), checkpointBank.isWithdrawAmountValid(id, dollars(100)));
+                    }
+                }
+            }
+        }
+
+        CheckpointBank checkpointBank = new CheckpointBank();
+        assertThrows(IllegalArgumentException.class, () -> checkpointBank.rollback(0));
+        checkpointBank.createCheckingAccount(0);
+        int checkpoint = checkpointBank.checkpoint();
+        checkpointBank.deposit(0, dollars(100));
+        int nextCheckpoint = checkpointBank.checkpoint();
+        checkpointBank.rollback(checkpoint);
+        assertEquals(0, checkpointBank.getAccount(0).getBalance());
+        assertThrows(IllegalArgumentException.class, () -> checkpointBank.rollback(nextCheckpoint));
+    }
+
+    private void applyOperation(Bank bank, long[] operation) {
+        int id = (int) operation[1];
+        long amount = operation[2];
+        if (operation[0] == 0) {
+            bank.createCheckingAccount(id);
+        } else if (operation[0] == 1) {
+            bank.createSavingsAccount(id);
+        } else if (operation[0] == 2) {
+            bank.createCDAccount(id, amount);
+        } else if (operation[0] == 3 && bank.containsAccount(id)) {
+            bank.deposit(id, amount);
+        } else if (operation[0] == 4 && bank.containsAccount(id)) {
+            bank.withdraw(id, amount);
+        } else if (operation[0] == 5 && bank.containsAccount(id) && bank.containsAccount(9 - id)) {
+            bank.transfer(id, 9 - id, amount);
+        } else if (operation[0] > 5) {
+            bank.timeTravel((int) (amount % 64) - 3);
+        }
+    }
+
+    @Test
+    protected void banks_settle_time_travel_lazily_with_the_same_fees_lifetimes_and_withdraw_limits_as_eager_time_travel() {
+        long seed = new Random().nextLong();
+        String message = "seed " + seed;
+        Random random = new Random(seed);
+        for (int i = 0; i < 200; i++) {
+            int savingsAPR = i % 2 == 0 ? 0 : random.nextInt(Bank.getMaxAPR() + 1);
+            int cdAPR = i % 2 == 0 ? 0 : random.nextInt(Bank.getMaxAPR() + 1);
+            Bank lazyBank = new HeapBank(savingsAPR, cdAPR);
+            Map<Integer, Account> eagerAccounts = new LinkedHashMap<>();
+            for (int j = 0; j < 200; j++) {
+                int id = random.nextInt(10);
+                long amount = random.nextInt(150000);
+                int operation = random.nextInt(8);
+                if (operation == 0) {
+                    lazyBank.createCheckingAccount(id);
+                    eagerAccounts.put(id, new CheckingAccount(id));
+                } else if (operation == 1) {
+                    lazyBank.createSavingsAccount(id);
+                    eagerAccounts.put(id, new SavingsAccount(id, savingsAPR));
+                } else if (operation == 2) {
+                    lazyBank.createCDAccount(id, amount);
+                    eagerAccounts.put(id, new CDAccount(id, amount, cdAPR));
+                } else if (operation == 3 && eagerAccounts.containsKey(id)) {
+                    lazyBank.deposit(id, amount);
+                    eagerAccounts.get(id).deposit(amount);
+                } else if (operation == 4 && eagerAccounts.containsKey(id)) {
+                    lazyBank.withdraw(id, amount);
+                    eagerAccounts.get(id).withdraw(amount);
+                } else if (operation == 5 && eagerAccounts.containsKey(id) && eagerAccounts.containsKey(9 - id)) {
+                    lazyBank.transfer(id, 9 - id, amount);
+                    long transferAmount = min(amount, eagerAccounts.get(id).getBalance());
+                    eagerAccounts.get(id).withdraw(transferAmount);
+                    eagerAccounts.get(9 - id).deposit(transferAmount);
+                } else if (operation > 5) {
+                    lazyBank.timeTravel((int) (amount % 64) - 3);
+                    timeTravelEagerly(eagerAccounts, (int) (amount % 64) - 3);
+                }
+
+                if (random.nextInt(10) == 0) {
+                    assertEquals(new ArrayList<>(eagerAccounts.keySet()), new ArrayList<>(lazyBank.getIDs()), message);
+                    for (AccountType accountType : AccountType.values()) {
+                        int withdrawAvailableAccounts = 0;
+                        for (Account account : eagerAccounts.values()) {
+                            if (account.getAccountType() == accountType && account.isWithdrawAvailable()) {
+                                withdrawAvailableAccounts++;
+                            }
+                        }
+                        assertEquals(withdrawAvailableAccounts, lazyBank.countWithdrawAvailableAccounts(accountType), message);
+                    }
+                    for (Account account : eagerAccounts.values()) {
+                        assertEquals(account.toString(), lazyBank.getAccount(account.getID()).toString(), message);
+                        assertEquals(account.isWithdrawAmountValid(Long.MAX_VALUE), lazyBank.isWithdrawAmountValid(account.getID(), Long.MAX_VALUE), message);
+                        assertEquals(account.isWithdrawAmountValid(dollars(100)), lazyBank.isWithdrawAmountValid(account.getID(), dollars(100)), message);
+                    }
+                }
+            }
+        }
+    }
+
+    private void timeTravelEagerly(Map<Integer, Account> accounts, int months) {
+        for (Account account : accounts.values()) {
+            account.timeTravel(months, account.getBalance() <= dollars(900) ? bank.getMinBalanceFee() : 0);
+        }
+    }
+
+    @Test
+    protected void banks_retain_time_travel_history_only_until_every_interest_bearing_account_settles_past_it() {
+        HeapBank bank = new HeapBank(Bank.getMaxAPR(), Bank.getMaxAPR());
+        Map<Integer, Account> eagerAccounts = new LinkedHashMap<>();
+        eagerAccounts.put(0, new SavingsAccount(0, Bank.getMaxAPR()));
+        eagerAccounts.put(1, new SavingsAccount(1, Bank.getMaxAPR()));
+        eagerAccounts.put(2, new CDAccount(2, dollars(5000), Bank.getMaxAPR()));
+        bank.createSavingsAccount(0);
+        bank.createSavingsAccount(1);
+        bank.createCDAccount(2, dollars(5000));
+        for (int id = 0; id < 2; id++) {
+            bank.deposit(id, dollars(2000));
+            eagerAccounts.get(id).deposit(dollars(2000));
+        }
+        for (int i = 0; i < 1000; i++) {
+            bank.timeTravel(1 + i % 3);
+            timeTravelEagerly(eagerAccounts, 1 + i % 3);
+            bank.getAccount(1);
+        }
+
+        assertEquals(1000, bank.countRetainedTimeTravels());
+        assertEquals(eagerAccounts.get(0).toString(), bank.getAccount(0).toString());
+        assertEquals(eagerAccounts.get(2).toString(), bank.getAccount(2).toString());
+        for (int i = 0; i < 1000; i++) {
+            bank.timeTravel(1);
+            timeTravelEagerly(eagerAccounts, 1);
+            bank.getAccount(0);
+            bank.getAccount(1);
+            bank.getAccount(2);
+        }
+
+        assertTrue(bank.countRetainedTimeTravels() <= 2);
+        for (int id = 0; id < 3; id++) {
+            assertEquals(eagerAccounts.get(id).toString(), bank.getAccount(id).toString());
+        }
+
+        HeapBank zeroAPRBank = new HeapBank();
+        zeroAPRBank.createSavingsAccount(0);
+        for (int i = 0; i < 1000; i++) {
+            zeroAPRBank.timeTravel(1);
+        }
+        assertTrue(zeroAPRBank.countRetainedTimeTravels() <= 1);
+    }
+
+    @Test
+    protected void savings_and_cd_interest_accrues_in_closed_form_like_a_month_by_month_reference() {
+        Random random = new Random();
+        for (int i = 0; i < 10000; i++) {
+            int apr = random.nextInt(Bank.getMaxAPR() + 1);
+            long balance = random.nextInt(2) == 0 ? random.nextInt((int) dollars(900) + 1) : (long) random.nextInt(Integer.MAX_VALUE);
+            int months = 1 + random.nextInt(bank.getMaxTimeTravel());
+            long minBalanceFee = balance <= dollars(900) ? bank.getMinBalanceFee() : 0;
+
+            double monthlyRate = apr / 10000.0 / 12;
+            double expectedBalance = balance;
+            for (int month = 0; month < months; month++) {
+                expectedBalance = max(0, expectedBalance - minBalanceFee) * (1 + monthlyRate);
+            }
+
+            Account account = random.nextInt(2) == 0 ? new SavingsAccount(0, apr) : new CDAccount(0, balance, apr);
+            assertEquals(expectedBalance, account.accrue(balance, months, minBalanceFee), 1);
+        }
+
+        Bank interestBank = new HeapBank(1200, 600);
+        interestBank.createSavingsAccount(savingsID0);
+        interestBank.createCDAccount(cdID0, dollars(10000));
+        interestBank.createCheckingAccount(checkingID0);
+        interestBank.deposit(savingsID0, dollars(1000));
+        interestBank.deposit(checkingID0, dollars(1000));
+        interestBank.timeTravel(getMonthsPerYear());
+        assertEquals(parse("1126.83"), interestBank.getAccount(savingsID0).getBalance());
+        assertEquals(parse("10616.78"), interestBank.getAccount(cdID0).getBalance());
+        assertEquals(dollars(1000), interestBank.getAccount(checkingID0).getBalance());
+        assertThrows(IllegalArgumentException.class, () -> new HeapBank(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new HeapBank(0, Bank.getMaxAPR() + 1));
+    }
 }
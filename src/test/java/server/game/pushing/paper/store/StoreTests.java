@@ -10,8 +10,11 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static server.game.pushing.paper.TransactionType.*;
+import static server.game.pushing.paper.Validity.*;
 import static server.game.pushing.paper.store.BankTests.timeTravel;
 import static server.game.pushing.paper.store.bank.AccountType.*;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+import static server.game.pushing.paper.store.bank.Money.format;
 
 public class StoreTests {
     private Store store;
@@ -36,21 +39,21 @@ public class StoreTests {
         String checkingID = "12342345";
         String savingsID = "12345454";
         String cdID = "98439843";
-        double cdBalance = 2934;
+        long cdBalance = dollars(2934);
         List<String> order = new ArrayList<>(Arrays.asList(
                 String.format("%s %s %s", Create, Checking, checkingID),
                 String.format("%s %s %s", Create, Savings, savingsID),
-                String.format("%s %s %s %s", Create, CD, cdID, cdBalance)
+                String.format("%s %s %s %s", Create, CD, cdID, format(cdBalance))
         ));
 
         store.setOrder(order);
 
         List<String> receipt = store.getReceipt(); int i = 0;
-        assertEquals(String.format("%s %s %.2f", Checking, checkingID, 0.).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Checking, checkingID, format(0)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Savings, savingsID, 0.).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Savings, savingsID, format(0)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", CD, cdID, cdBalance).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", CD, cdID, format(cdBalance)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
         assertEquals(i, receipt.size());
     }
@@ -59,18 +62,18 @@ public class StoreTests {
     protected void time_travel_transactions_do_not_have_an_output() {
         String id = "12342345";
         int months = 2;
-        double depositAmount = 998;
+        long depositAmount = dollars(998);
         List<String> order = new ArrayList<>(Arrays.asList(
                 String.format("%s %s %s", Create, Savings, id),
-                String.format("%s %s %s", Deposit, id, depositAmount),
+                String.format("%s %s %s", Deposit, id, format(depositAmount)),
                 String.format("%s %s", TimeTravel, months)
         ));
 
         store.setOrder(order);
 
         List<String> receipt = store.getReceipt(); int i = 0;
-        assertEquals(String.format("%s %s %.2f", Savings, id, timeTravel(depositAmount, months)).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Deposit, id, depositAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Savings, id, format(timeTravel(depositAmount, months))).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Deposit, id, format(depositAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
         assertEquals(i, receipt.size());
     }
@@ -78,20 +81,20 @@ public class StoreTests {
     @Test
     protected void deposit_and_withdraw_transactions_output_themselves() {
         String id = "12342345";
-        double depositAmount = 998;
-        double withdrawAmount = 323;
+        long depositAmount = dollars(998);
+        long withdrawAmount = dollars(323);
         List<String> order = new ArrayList<>(Arrays.asList(
                 String.format("%s %s %s", Create, Checking, id),
-                String.format("%s %s %s", Deposit, id, depositAmount),
-                String.format("%s %s %s", Withdraw, id, withdrawAmount)
+                String.format("%s %s %s", Deposit, id, format(depositAmount)),
+                String.format("%s %s %s", Withdraw, id, format(withdrawAmount))
         ));
 
         store.setOrder(order);
 
         List<String> receipt = store.getReceipt(); int i = 0;
-        assertEquals(String.format("%s %s %.2f", Checking, id, depositAmount - withdrawAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Deposit, id, depositAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Withdraw, id, withdrawAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Checking, id, format(depositAmount - withdrawAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Deposit, id, format(depositAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Withdraw, id, format(withdrawAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
         assertEquals(i, receipt.size());
     }
@@ -100,23 +103,23 @@ public class StoreTests {
     protected void transfer_transactions_output_themselves_twice() {
         String payingID = "12342345";
         String receivingID = "98989898";
-        double depositAmount = 998;
-        double transferAmount = 323;
+        long depositAmount = dollars(998);
+        long transferAmount = dollars(323);
         List<String> order = new ArrayList<>(Arrays.asList(
                 String.format("%s %s %s", Create, Savings, payingID),
-                String.format("%s %s %s", Deposit, payingID, depositAmount),
+                String.format("%s %s %s", Deposit, payingID, format(depositAmount)),
                 String.format("%s %s %s", Create, Checking, receivingID),
-                String.format("%s %s %s %s", Transfer, payingID, receivingID, transferAmount)
+                String.format("%s %s %s %s", Transfer, payingID, receivingID, format(transferAmount))
         ));
 
         store.setOrder(order);
 
         List<String> receipt = store.getReceipt(); int i = 0;
-        assertEquals(String.format("%s %s %.2f", Savings, payingID, depositAmount - transferAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Deposit, payingID, depositAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %s %.2f", Transfer, payingID, receivingID, transferAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Savings, payingID, format(depositAmount - transferAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Deposit, payingID, format(depositAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s %s", Transfer, payingID, receivingID, format(transferAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Checking, receivingID, transferAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Checking, receivingID, format(transferAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals(receipt.get(2), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
         assertEquals(i, receipt.size());
@@ -126,23 +129,23 @@ public class StoreTests {
     protected void valid_transactions_output_lowercase_without_extra_arguments() {
         String payingID = "12342345";
         String receivingID = "98989898";
-        double depositAmount = 998;
-        double transferAmount = 323;
+        long depositAmount = dollars(998);
+        long transferAmount = dollars(323);
         List<String> order = new ArrayList<>(Arrays.asList(
                 String.format("%s %s %s %s %s %s", "create", "SAVINGS", payingID, payingID, payingID, payingID),
-                String.format("%s %s %s %s %s %s", "DEPOSIT", payingID, depositAmount, null, false, true),
+                String.format("%s %s %s %s %s %s", "DEPOSIT", payingID, format(depositAmount), null, false, true),
                 String.format("%s %s %s %s %s %s", "CREATE", "checking", receivingID, 234, 345, 125),
-                String.format("%s %s %s %s %s %s %s", "transfer", payingID, receivingID, transferAmount, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN)
+                String.format("%s %s %s %s %s %s %s", "transfer", payingID, receivingID, format(transferAmount), Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN)
         ));
 
         store.setOrder(order);
 
         List<String> receipt = store.getReceipt(); int i = 0;
-        assertEquals(String.format("%s %s %.2f", Savings, payingID, depositAmount - transferAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Deposit, payingID, depositAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %s %.2f", Transfer, payingID, receivingID, transferAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Savings, payingID, format(depositAmount - transferAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Deposit, payingID, format(depositAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s %s", Transfer, payingID, receivingID, format(transferAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Checking, receivingID, transferAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Checking, receivingID, format(transferAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals(receipt.get(2), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
         assertEquals(i, receipt.size());
@@ -163,36 +166,65 @@ public class StoreTests {
         assertEquals(i, receipt.size());
     }
 
+    @Test
+    protected void stores_report_why_each_invalid_transaction_is_invalid_in_receipt_order() {
+        List<String> order = new ArrayList<>(Arrays.asList(
+                "the power of friendship",
+                "create checking 00000000",
+                "create checking 00000000",
+                "deposit 00000000 1e3",
+                "deposit 0000000x 100",
+                "deposit 00000000 5000",
+                "withdraw 00000001 100",
+                "transfer 00000000 00000000 100",
+                "time travel 0",
+                "create savings",
+                "create cd 00000001 200",
+                "deposit 00000000 100"
+        ));
+
+        store.setOrder(order);
+
+        List<String> receipt = store.getReceipt();
+        assertEquals(Arrays.asList(
+                UnknownTransactionType, TakenID, MalformedAmount, MalformedID, InvalidDepositAmount,
+                UnknownAccount, SameAccount, InvalidTimeTravel, MissingArgument, InvalidCDBalance
+        ), store.getValidities());
+        for (int i = 0; i < store.getValidities().size(); i++) {
+            assertTrue(receipt.get(receipt.size() - store.getValidities().size() + i).startsWith("[invalid] "));
+        }
+    }
+
     @Test
     protected void the_output_is_sorted_first_by_validity_second_by_account_third_by_time() {
         String checkingID = "98439843";
         String savingsID = "43343434";
         String cdID = "34983489";
         int months = 2;
-        double depositAmount = 900;
-        double withdrawAmount = 300;
-        double transferAmount = 400;
+        long depositAmount = dollars(900);
+        long withdrawAmount = dollars(300);
+        long transferAmount = dollars(400);
         List<String> order = new ArrayList<>(Arrays.asList(
                 String.format("%s %s %s", Create, Savings, savingsID),
                 String.format("%s %s %s", Deposit, savingsID, 5000),
                 String.format("%s %s %s", Create, Checking, checkingID),
-                String.format("%s %s %s", Deposit, savingsID, depositAmount),
+                String.format("%s %s %s", Deposit, savingsID, format(depositAmount)),
                 String.format("%s %s", TimeTravel, months),
                 String.format("%s %s %s %s", Create, CD, cdID, 200),
-                String.format("%s %s %s %s", Transfer, savingsID, checkingID, transferAmount),
-                String.format("%s %s %s", Withdraw, checkingID, withdrawAmount)
+                String.format("%s %s %s %s", Transfer, savingsID, checkingID, format(transferAmount)),
+                String.format("%s %s %s", Withdraw, checkingID, format(withdrawAmount))
         ));
 
         store.setOrder(order);
 
         List<String> receipt = store.getReceipt(); int i = 0;
-        assertEquals(String.format("%s %s %.2f", Savings, savingsID, (depositAmount - 100 * months) - transferAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Deposit, savingsID, depositAmount).toLowerCase(), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %s %.2f", Transfer, savingsID, checkingID, transferAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Savings, savingsID, format((depositAmount - dollars(100) * months) - transferAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Deposit, savingsID, format(depositAmount)).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s %s", Transfer, savingsID, checkingID, format(transferAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Checking, checkingID, transferAmount - withdrawAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Checking, checkingID, format(transferAmount - withdrawAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals(receipt.get(2), receipt.get(i)); i++;
-        assertEquals(String.format("%s %s %.2f", Withdraw, checkingID, withdrawAmount).toLowerCase(), receipt.get(i)); i++;
+        assertEquals(String.format("%s %s %s", Withdraw, checkingID, format(withdrawAmount)).toLowerCase(), receipt.get(i)); i++;
         assertEquals("", receipt.get(i)); i++;
         assertEquals(String.format("%s %s", "[invalid]", order.get(1)), receipt.get(i)); i++;
         assertEquals(String.format("%s %s", "[invalid]", order.get(5)), receipt.get(i)); i++;
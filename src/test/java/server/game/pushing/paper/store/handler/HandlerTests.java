@@ -2,18 +2,22 @@ package server.game.pushing.paper.store.handler;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import server.game.pushing.paper.Transaction;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
 import server.game.pushing.paper.store.handler.processor.TransferProcessor;
 import server.game.pushing.paper.store.handler.validator.TransferValidator;
+import server.game.pushing.paper.store.handler.validator.ValidatorDispatcher;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static server.game.pushing.paper.TransactionType.Create;
+import static server.game.pushing.paper.Validity.*;
 import static server.game.pushing.paper.store.bank.AccountType.Savings;
+import static server.game.pushing.paper.store.bank.Money.dollars;
 
 public class HandlerTests {
     private Bank bank;
@@ -22,7 +26,7 @@ public class HandlerTests {
 
     @BeforeEach
     protected void setUp() {
-        bank = new Bank();
+        bank = new HeapBank();
         ChainOfResponsibility chainOfResponsibility = new ChainOfResponsibility(bank);
         validators = chainOfResponsibility.getValidators();
         processors = chainOfResponsibility.getProcessors();
@@ -62,4 +66,58 @@ public class HandlerTests {
             assertTrue(processors.handleTransaction(transaction));
         }
     }
+
+    @Test
+    protected void a_dispatcher_routes_a_transaction_to_the_handler_of_its_transaction_type() {
+        ChainOfResponsibility chainOfResponsibility = new ChainOfResponsibility(bank);
+        Handler validatorDispatcher = chainOfResponsibility.getValidatorDispatcher();
+        Handler processorDispatcher = chainOfResponsibility.getProcessorDispatcher();
+        String payingID = "98340842";
+        String receivingID = "08429843";
+        List<String> order = new ArrayList<>(Arrays.asList(
+                String.format("%s %s %s", "create", "savings", payingID),
+                String.format("%s %s %s", "create", "checking", receivingID),
+                String.format("%s %s %s", "deposit", payingID, 900),
+                String.format("%s %s %s %s", "transfer", payingID, receivingID, 300),
+                String.format("%s %s", "time travel", 2),
+                String.format("%s %s %s", "withdraw", receivingID, 300)
+        ));
+
+        for (String transaction : order) {
+            assertEquals(validators.handleTransaction(transaction), validatorDispatcher.handleTransaction(transaction));
+            assertTrue(processorDispatcher.handleTransaction(transaction));
+        }
+        assertFalse(validatorDispatcher.handleTransaction("the power of friendship"));
+        assertFalse(processorDispatcher.handleTransaction("the power of friendship"));
+        assertFalse(validatorDispatcher.handleTransaction(String.format("%s %s %s", "create", "checking", receivingID)));
+        assertEquals(dollars(400), bank.getAccount(payingID).getBalance());
+        assertEquals(0, bank.getAccount(receivingID).getBalance());
+    }
+
+    @Test
+    protected void a_validator_dispatcher_returns_why_a_transaction_is_invalid_without_throwing() {
+        ValidatorDispatcher validatorDispatcher = new ChainOfResponsibility(bank).getValidatorDispatcher();
+        String payingID = "98340842";
+        String receivingID = "08429843";
+        bank.createSavingsAccount(payingID);
+        bank.createCheckingAccount(receivingID);
+        bank.deposit(payingID, dollars(500));
+
+        assertEquals(Valid, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s", "withdraw", payingID, 500))));
+        assertEquals(UnknownTransactionType, validatorDispatcher.validate(Transaction.parse("the power of friendship")));
+        assertEquals(UnknownAccountType, validatorDispatcher.validate(Transaction.parse("create love 12345678")));
+        assertEquals(MissingArgument, validatorDispatcher.validate(Transaction.parse("create cd 12345678")));
+        assertEquals(MalformedID, validatorDispatcher.validate(Transaction.parse("deposit 1234567 100")));
+        assertEquals(MalformedAmount, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s", "deposit", payingID, "1e3"))));
+        assertEquals(MalformedAmount, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s", "withdraw", payingID, "500.005"))));
+        assertEquals(MalformedMonths, validatorDispatcher.validate(Transaction.parse("time travel 1.5")));
+        assertEquals(TakenID, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s", "create", "checking", payingID))));
+        assertEquals(InvalidCDBalance, validatorDispatcher.validate(Transaction.parse("create cd 12345678 999.99")));
+        assertEquals(InvalidTimeTravel, validatorDispatcher.validate(Transaction.parse("time travel 0")));
+        assertEquals(UnknownAccount, validatorDispatcher.validate(Transaction.parse("deposit 12345678 100")));
+        assertEquals(InvalidDepositAmount, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s", "deposit", payingID, -100))));
+        assertEquals(InvalidWithdrawAmount, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s", "withdraw", payingID, 1001))));
+        assertEquals(SameAccount, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s %s", "transfer", payingID, payingID, 100))));
+        assertEquals(UnknownAccount, validatorDispatcher.validate(Transaction.parse(String.format("%s %s %s %s", "transfer", payingID, "12345678", 100))));
+    }
 }
@@ -4,12 +4,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import server.game.pushing.paper.TransactionType;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
 import server.game.pushing.paper.store.handler.processor.*;
 
 import static java.lang.Math.min;
 import static org.junit.jupiter.api.Assertions.*;
 import static server.game.pushing.paper.store.BankTests.timeTravel;
 import static server.game.pushing.paper.store.bank.AccountType.*;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+import static server.game.pushing.paper.store.bank.Money.format;
 
 public class ProcessorTests {
     private Bank bank;
@@ -24,7 +27,7 @@ public class ProcessorTests {
 
     @BeforeEach
     protected void setUp() {
-        bank = new Bank();
+        bank = new HeapBank();
 
         createProcessor = new CreateProcessor(bank);
         timeTravelProcessor = new TimeTravelProcessor(bank);
@@ -42,11 +45,11 @@ public class ProcessorTests {
         String checkingID = "98439811";
         String savingsID = "11112222";
         String cdID = "12345432";
-        double cdBalance = bank.getMinCDBalance();
+        long cdBalance = bank.getMinCDBalance();
 
         assertTrue(createProcessor.handleTransaction(String.format("%s %s %s", transactionType, Checking, checkingID)));
         assertTrue(createProcessor.handleTransaction(String.format("%s %s %s", transactionType, Savings, savingsID)));
-        assertTrue(createProcessor.handleTransaction(String.format("%s %s %s %s", transactionType, CD, cdID, cdBalance)));
+        assertTrue(createProcessor.handleTransaction(String.format("%s %s %s %s", transactionType, CD, cdID, format(cdBalance))));
         assertNotNull(bank.getAccount(checkingID));
         assertNotNull(bank.getAccount(savingsID));
         assertNotNull(bank.getAccount(cdID));
@@ -57,7 +60,7 @@ public class ProcessorTests {
         TransactionType transactionType = timeTravelProcessor.getTransactionType();
         String id = receivingID;
         int months = 8;
-        double depositAmount = 900;
+        long depositAmount = dollars(900);
 
         bank.deposit(id, depositAmount);
 
@@ -69,9 +72,9 @@ public class ProcessorTests {
     protected void a_deposit_transaction_can_deposit_to_accounts() {
         TransactionType transactionType = depositProcessor.getTransactionType();
         String id = payingID;
-        double depositAmount = bank.getAccount(id).getMaxDepositAmount();
+        long depositAmount = bank.getAccount(id).getMaxDepositAmount();
 
-        assertTrue(depositProcessor.handleTransaction(String.format("%s %s %s", transactionType, id, depositAmount)));
+        assertTrue(depositProcessor.handleTransaction(String.format("%s %s %s", transactionType, id, format(depositAmount))));
         assertEquals(depositAmount, bank.getAccount(id).getBalance());
     }
 
@@ -79,12 +82,12 @@ public class ProcessorTests {
     protected void a_withdraw_transaction_can_withdraw_from_accounts() {
         TransactionType transactionType = withdrawProcessor.getTransactionType();
         String id = receivingID;
-        double depositAmount = bank.getAccount(id).getMaxDepositAmount();
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long depositAmount = bank.getAccount(id).getMaxDepositAmount();
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         bank.deposit(id, depositAmount);
 
-        assertTrue(withdrawProcessor.handleTransaction(String.format("%s %s %s", transactionType, id, withdrawAmount)));
+        assertTrue(withdrawProcessor.handleTransaction(String.format("%s %s %s", transactionType, id, format(withdrawAmount))));
         assertEquals(depositAmount - withdrawAmount, bank.getAccount(id).getBalance());
     }
 
@@ -93,12 +96,12 @@ public class ProcessorTests {
         TransactionType transactionType = transferProcessor.getTransactionType();
         String payingID = this.payingID;
         String receivingID = this.receivingID;
-        double depositAmount = bank.getAccount(payingID).getMaxDepositAmount();
-        double transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
+        long depositAmount = bank.getAccount(payingID).getMaxDepositAmount();
+        long transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
 
         bank.deposit(payingID, depositAmount);
 
-        assertTrue(transferProcessor.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, transferAmount)));
+        assertTrue(transferProcessor.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, format(transferAmount))));
         assertEquals(depositAmount - transferAmount, bank.getAccount(payingID).getBalance());
         assertEquals(transferAmount, bank.getAccount(receivingID).getBalance());
     }
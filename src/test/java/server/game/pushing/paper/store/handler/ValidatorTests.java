@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import server.game.pushing.paper.TransactionType;
 import server.game.pushing.paper.store.bank.AccountType;
 import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.HeapBank;
 import server.game.pushing.paper.store.handler.validator.*;
 
 import static java.lang.Math.min;
@@ -12,6 +13,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static server.game.pushing.paper.store.bank.AccountType.*;
 import static server.game.pushing.paper.store.bank.Bank.getMonthsPerYear;
+import static server.game.pushing.paper.store.bank.Money.format;
 
 public class ValidatorTests {
     private Bank bank;
@@ -26,7 +28,7 @@ public class ValidatorTests {
 
     @BeforeEach
     protected void setUp() {
-        bank = new Bank();
+        bank = new HeapBank();
         createValidator = new CreateValidator(bank);
         timeTravelValidator = new TimeTravelValidator(bank);
         depositValidator = new DepositValidator(bank);
@@ -54,14 +56,14 @@ public class ValidatorTests {
     protected void the_second_argument_in_a_create_transaction_is_a_valid_account_type() {
         TransactionType transactionType = createValidator.getTransactionType();
         String id = "85858585";
-        double cdBalance = bank.getMinCDBalance();
+        long cdBalance = bank.getMinCDBalance();
 
         assertFalse(createValidator.handleTransaction(String.format("%s %s %s", transactionType, "", "")));
         assertFalse(createValidator.handleTransaction(String.format("%s %s %s", transactionType, "", id)));
         assertFalse(createValidator.handleTransaction(String.format("%s %s %s", transactionType, "love", id)));
         assertTrue(createValidator.handleTransaction(String.format("%s %s %s", transactionType, Checking, id)));
         assertTrue(createValidator.handleTransaction(String.format("%s %s %s", transactionType, Savings, id)));
-        assertTrue(createValidator.handleTransaction(String.format("%s %s %s %s", transactionType, CD, id, cdBalance)));
+        assertTrue(createValidator.handleTransaction(String.format("%s %s %s %s", transactionType, CD, id, format(cdBalance))));
     }
 
     @Test
@@ -80,11 +82,11 @@ public class ValidatorTests {
         TransactionType transactionType = createValidator.getTransactionType();
         AccountType accountType = CD;
         String id = "87658765";
-        double cdBalance = bank.getMinCDBalance();
+        long cdBalance = bank.getMinCDBalance();
 
         assertFalse(createValidator.handleTransaction(String.format("%s %s %s %s", transactionType, accountType, id, "")));
         assertFalse(createValidator.handleTransaction(String.format("%s %s %s %s", transactionType, accountType, id, "smoke air everyday")));
-        assertTrue(createValidator.handleTransaction(String.format("%s %s %s %s", transactionType, accountType, id, cdBalance)));
+        assertTrue(createValidator.handleTransaction(String.format("%s %s %s %s", transactionType, accountType, id, format(cdBalance))));
     }
 
     @Test
@@ -113,72 +115,72 @@ public class ValidatorTests {
     protected void the_first_argument_in_a_deposit_transaction_is_the_transaction_type_deposit() {
         TransactionType transactionType = depositValidator.getTransactionType();
         String id = payingID;
-        double depositAmount = bank.getAccount(id).getMaxDepositAmount();
+        long depositAmount = bank.getAccount(id).getMaxDepositAmount();
 
         assertFalse(depositValidator.handleTransaction(""));
         assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", "", "", "")));
-        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", "", id, depositAmount)));
-        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", "nuke", id, depositAmount)));
-        assertTrue(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, depositAmount)));
+        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", "", id, format(depositAmount))));
+        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", "nuke", id, format(depositAmount))));
+        assertTrue(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, format(depositAmount))));
     }
 
     @Test
     protected void the_second_argument_in_a_deposit_transaction_is_a_valid_id() {
         TransactionType transactionType = depositValidator.getTransactionType();
         String id = payingID;
-        double depositAmount = bank.getAccount(id).getMaxDepositAmount();
+        long depositAmount = bank.getAccount(id).getMaxDepositAmount();
 
         assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, "", "")));
-        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, "", depositAmount)));
-        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, "tree", depositAmount)));
-        assertTrue(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, depositAmount)));
+        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, "", format(depositAmount))));
+        assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, "tree", format(depositAmount))));
+        assertTrue(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, format(depositAmount))));
     }
 
     @Test
     protected void the_third_argument_in_a_deposit_transaction_is_a_valid_deposit_amount() {
         TransactionType transactionType = depositValidator.getTransactionType();
         String id = payingID;
-        double depositAmount = bank.getAccount(id).getMaxDepositAmount();
+        long depositAmount = bank.getAccount(id).getMaxDepositAmount();
 
         assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, "")));
         assertFalse(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, "depositAmount")));
-        assertTrue(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, depositAmount)));
+        assertTrue(depositValidator.handleTransaction(String.format("%s %s %s", transactionType, id, format(depositAmount))));
     }
 
     @Test
     protected void the_first_argument_in_a_withdraw_transaction_is_the_transaction_type_withdraw() {
         TransactionType transactionType = withdrawValidator.getTransactionType();
         String id = receivingID;
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         assertFalse(withdrawValidator.handleTransaction(""));
         assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", "", "", "")));
-        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", "", id, withdrawAmount)));
-        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", "nuke", id, withdrawAmount)));
-        assertTrue(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, withdrawAmount)));
+        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", "", id, format(withdrawAmount))));
+        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", "nuke", id, format(withdrawAmount))));
+        assertTrue(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, format(withdrawAmount))));
     }
 
     @Test
     protected void the_second_argument_in_a_withdraw_transaction_is_a_valid_id() {
         TransactionType transactionType = withdrawValidator.getTransactionType();
         String id = receivingID;
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, "", "")));
-        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, "", withdrawAmount)));
-        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, "bob", withdrawAmount)));
-        assertTrue(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, withdrawAmount)));
+        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, "", format(withdrawAmount))));
+        assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, "bob", format(withdrawAmount))));
+        assertTrue(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, format(withdrawAmount))));
     }
 
     @Test
     protected void the_third_argument_in_a_withdraw_transaction_is_a_valid_withdraw_amount() {
         TransactionType transactionType = withdrawValidator.getTransactionType();
         String id = receivingID;
-        double withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
+        long withdrawAmount = bank.getAccount(id).getMaxWithdrawAmount();
 
         assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, "")));
         assertFalse(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, Double.POSITIVE_INFINITY)));
-        assertTrue(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, withdrawAmount)));
+        assertTrue(withdrawValidator.handleTransaction(String.format("%s %s %s", transactionType, id, format(withdrawAmount))));
     }
 
     @Test
@@ -186,13 +188,13 @@ public class ValidatorTests {
         TransactionType transactionType = transferValidator.getTransactionType();
         String payingID = this.payingID;
         String receivingID = this.receivingID;
-        double transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
+        long transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
 
         assertFalse(transferValidator.handleTransaction(""));
         assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", "", "", "", "")));
-        assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", "", payingID, receivingID, transferAmount)));
-        assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", "nuke", payingID, receivingID, transferAmount)));
-        assertTrue(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, transferAmount)));
+        assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", "", payingID, receivingID, format(transferAmount))));
+        assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", "nuke", payingID, receivingID, format(transferAmount))));
+        assertTrue(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, format(transferAmount))));
     }
 
     @Test
@@ -200,12 +202,12 @@ public class ValidatorTests {
         TransactionType transactionType = transferValidator.getTransactionType();
         String payingID = this.payingID;
         String receivingID = this.receivingID;
-        double transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
+        long transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
 
         assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, "", "", "")));
         assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, "", "", transactionType)));
-        assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, payingID, transferAmount)));
-        assertTrue(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, transferAmount)));
+        assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, payingID, format(transferAmount))));
+        assertTrue(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, format(transferAmount))));
     }
 
     @Test
@@ -213,10 +215,10 @@ public class ValidatorTests {
         TransactionType transactionType = transferValidator.getTransactionType();
         String payingID = this.payingID;
         String receivingID = this.receivingID;
-        double transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
+        long transferAmount = min(bank.getAccount(payingID).getMaxWithdrawAmount(), bank.getAccount(receivingID).getMaxDepositAmount());
 
         assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, "")));
         assertFalse(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, "the powerpuff girls")));
-        assertTrue(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, transferAmount)));
+        assertTrue(transferValidator.handleTransaction(String.format("%s %s %s %s", transactionType, payingID, receivingID, format(transferAmount))));
     }
 }
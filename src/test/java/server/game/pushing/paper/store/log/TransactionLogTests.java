@@ -0,0 +1,229 @@
+package server.game.pushing.paper.store.log;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import server.game.pushing.paper.Transaction;
+import server.game.pushing.paper.generator.OrderGenerator;
+import server.game.pushing.paper.store.Receipt;
+import server.game.pushing.paper.store.bank.Bank;
+import server.game.pushing.paper.store.bank.ConcurrentBank;
+import server.game.pushing.paper.store.bank.HeapBank;
+import server.game.pushing.paper.store.handler.ChainOfResponsibility;
+import server.game.pushing.paper.store.handler.Handler;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.junit.jupiter.api.Assertions.*;
+import static server.game.pushing.paper.store.bank.AccountType.Checking;
+import static server.game.pushing.paper.store.bank.Money.dollars;
+
+public class TransactionLogTests {
+    @TempDir
+    protected Path directory;
+
+    @Test
+    protected void a_transaction_log_replays_processed_transactions_through_the_processors_to_rebuild_the_bank() throws IOException {
+        Random random = new Random();
+        for (int i = 0; i < 20; i++) {
+            Path path = directory.resolve(i + ".log");
+            List<String> order = new OrderGenerator().generateOrder(random, 100);
+            order.add(random.nextInt(order.size()), "withdraw 00000001 400");
+            List<String> output;
+            try (TransactionLog log = new TransactionLog(path, 1 + random.nextInt(64))) {
+                Receipt receipt = new Receipt(new HeapBank(), log);
+                for (String transaction : order.subList(0, 50)) {
+                    receipt.addTransaction(transaction);
+                }
+            }
+            try (TransactionLog log = new TransactionLog(path)) {
+                Receipt receipt = new Receipt(new HeapBank(), log);
+                for (String transaction : order.subList(50, order.size())) {
+                    receipt.addTransaction(transaction);
+                }
+            }
+
+            Receipt receipt = new Receipt();
+            for (String transaction : order) {
+                receipt.addTransaction(transaction);
+            }
+            Bank bank = new HeapBank();
+            try (TransactionLog log = new TransactionLog(path)) {
+                output = new Receipt(new HeapBank(), log).output();
+                assertEquals(order.size() - receipt.getValidities().size(), log.replay(new ChainOfResponsibility(bank).getProcessorDispatcher()));
+            }
+
+            assertEquals(receipt.output().stream().filter(transaction -> !transaction.startsWith("[invalid]")).collect(Collectors.toList()), output);
+            for (int id : bank.getIDs()) {
+                assertEquals(output.get(output.indexOf(bank.getAccount(id).toString())), bank.getAccount(id).toString());
+            }
+        }
+    }
+
+    @Test
+    protected void a_transaction_log_truncates_a_torn_final_record_after_a_crash() throws IOException {
+        Path path = directory.resolve("torn.log");
+        try (TransactionLog log = new TransactionLog(path)) {
+            log.append(Transaction.create(Checking, 0, 0));
+            for (int i = 0; i < 9; i++) {
+                log.append(Transaction.deposit(0, dollars(i)));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[TransactionLog.getRecordSize() / 2]));
+        }
+
+        try (TransactionLog log = new TransactionLog(path)) {
+            assertEquals(TransactionLog.getHeaderSize() + 10 * TransactionLog.getRecordSize(), Files.size(path));
+            assertEquals(10, log.replay(transaction -> {}));
+        }
+        try (FileChannel channel = FileChannel.open(path, WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 1 }), Files.size(path) - 1);
+        }
+
+        Bank bank = new HeapBank();
+        try (TransactionLog log = new TransactionLog(path)) {
+            assertEquals(9, log.replay(new ChainOfResponsibility(bank).getProcessorDispatcher()));
+            log.append(Transaction.deposit(0, dollars(100)));
+        }
+        assertEquals(dollars(28), bank.getAccount(0).getBalance());
+        try (TransactionLog log = new TransactionLog(path)) {
+            assertEquals(10, log.replay(transaction -> {}));
+        }
+
+        Files.write(path, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        assertThrows(IllegalArgumentException.class, () -> new TransactionLog(path));
+    }
+
+    @Test
+    protected void a_transaction_log_commits_appended_transactions_in_groups_with_one_fsync() throws IOException {
+        Path path = directory.resolve("group.log");
+        assertThrows(IllegalArgumentException.class, () -> new TransactionLog(path, 0));
+
+        try (TransactionLog log = new TransactionLog(path, 4)) {
+            for (int i = 0; i < 3; i++) {
+                log.append(Transaction.timeTravel(1));
+            }
+            assertEquals(3, log.getAppended());
+            assertEquals(0, log.getCommitted());
+            assertEquals(TransactionLog.getHeaderSize(), Files.size(path));
+
+            log.append(Transaction.timeTravel(1));
+            assertEquals(4, log.getCommitted());
+            assertEquals(TransactionLog.getHeaderSize() + 4 * TransactionLog.getRecordSize(), Files.size(path));
+
+            log.append(Transaction.timeTravel(1));
+            log.commit();
+            assertEquals(5, log.getCommitted());
+
+            long sequence = log.append(Transaction.timeTravel(1));
+            log.append(Transaction.timeTravel(1));
+            log.commit(sequence);
+            assertEquals(7, log.getCommitted());
+            log.commit(sequence);
+            assertEquals(TransactionLog.getHeaderSize() + 7 * TransactionLog.getRecordSize(), Files.size(path));
+        }
+    }
+
+    @Test
+    protected void a_log_handler_appends_transactions_in_the_order_a_concurrent_bank_applies_them() throws IOException, InterruptedException, ExecutionException {
+        Path path = directory.resolve("concurrent.log");
+        ConcurrentBank concurrentBank = new ConcurrentBank(4);
+        try (TransactionLog log = new TransactionLog(path)) {
+            Handler processors = new LogHandler(concurrentBank, new ChainOfResponsibility(concurrentBank).getProcessorDispatcher(), log);
+            for (int id = 0; id < 8; id++) {
+                processors.handleTransaction(Transaction.create(Checking, id, 0));
+            }
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                int seed = i;
+                tasks.add(() -> {
+                    Random random = new Random(seed);
+                    for (int j = 0; j < 2000; j++) {
+                        int id = random.nextInt(8);
+                        long amount = dollars(1 + random.nextInt(100));
+                        int transactionType = random.nextInt(10);
+                        if (transactionType == 0) {
+                            processors.handleTransaction(Transaction.timeTravel(1));
+                        } else if (transactionType < 4) {
+                            processors.handleTransaction(Transaction.deposit(id, amount));
+                        } else if (transactionType < 7) {
+                            processors.handleTransaction(Transaction.withdraw(id, amount));
+                        } else {
+                            processors.handleTransaction(Transaction.transfer(id, (id + 1 + random.nextInt(7)) % 8, amount));
+                        }
+                    }
+
+                    return null;
+                });
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+            try {
+                for (Future<Void> future : executor.invokeAll(tasks, 60, TimeUnit.SECONDS)) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        Bank bank = new HeapBank();
+        try (TransactionLog log = new TransactionLog(path)) {
+            log.replay(new ChainOfResponsibility(bank).getProcessorDispatcher());
+        }
+        for (int id = 0; id < 8; id++) {
+            assertEquals(concurrentBank.getAccount(id).getBalance(), bank.getAccount(id).getBalance());
+        }
+    }
+
+    @Test
+    protected void a_transaction_log_keeps_every_acknowledged_transaction_when_its_process_is_killed_before_close() throws IOException, InterruptedException {
+        Path path = directory.resolve("killed.log");
+        Process process = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-cp", System.getProperty("java.class.path"), TransactionLogTests.class.getName(), path.toString())
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        long acknowledged = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            while (acknowledged < 200 && reader.readLine() != null) {
+                acknowledged++;
+            }
+        } finally {
+            process.destroyForcibly().waitFor();
+        }
+
+        assertTrue(acknowledged >= 200);
+        Bank bank = new HeapBank();
+        try (TransactionLog log = new TransactionLog(path)) {
+            assertTrue(log.replay(new ChainOfResponsibility(bank).getProcessorDispatcher()) >= acknowledged);
+        }
+        assertTrue(bank.getAccount(0).getBalance() >= dollars(acknowledged));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Receipt receipt = new Receipt(new HeapBank(), new TransactionLog(Path.of(args[0])));
+        receipt.addTransactions(List.of("create checking 00000000"));
+        List<String> deposits = Collections.nCopies(10, "deposit 00000000 1");
+        while (receipt.getValidities().isEmpty()) {
+            receipt.addTransactions(deposits);
+            for (int i = 0; i < deposits.size(); i++) {
+                System.out.println("acknowledged");
+            }
+            System.out.flush();
+        }
+    }
+}